@@ -0,0 +1,155 @@
+package com.financedoc.user_service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시간 기준선 — 빌드된 app.jar 를 별도 JVM 으로 띄워 첫 GET /auth/me 가 200 을 돌려줄 때까지의 시간.
+ * H2 메모리 DB 에 사용자 1명을 미리 넣어 두고(cds 프로필 + INIT 스크립트), 이미지와 같은 압축 해제 레이아웃으로 실행한다.
+ * - mode=jar : 압축 해제 레이아웃만
+ * - mode=cds : + AppCDS 아카이브 (Trial 시작 시 학습 실행으로 생성)
+ * AOT 빌드(./gradlew bootJar -Paot)로 측정할 때는 -Dstartup.aot=true 를 함께 준다.
+ * ./gradlew bootJar jmh -PjmhIncludes=StartupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final long SEED_USER_ID = 1;
+
+    @Param({"jar", "cds"})
+    public String mode;
+
+    private Path workDir;
+    private Path appJar;
+    private Path archive;
+    private Path seed;
+    private HttpClient http;
+    private Process app;
+
+    @Setup(Level.Trial)
+    public void prepare() throws Exception {
+        Path jar = Path.of(System.getProperty("startup.jar", "build/libs/app.jar")).toAbsolutePath();
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException(jar + " not found — run ./gradlew bootJar first");
+        }
+        workDir = Files.createTempDirectory("startup-bench");
+        run(List.of(java(), "-Djarmode=tools", "-jar", jar.toString(),
+                "extract", "--destination", workDir.resolve("extracted").toString()));
+        appJar = workDir.resolve("extracted").resolve(jar.getFileName());
+        seed = workDir.resolve("seed.sql");
+        Files.writeString(seed, """
+                CREATE TABLE IF NOT EXISTS users (
+                    id BIGINT PRIMARY KEY, password VARCHAR(255), kakao_id BIGINT, user_id VARCHAR(255),
+                    email VARCHAR(255), nickname VARCHAR(255), avatar_url VARCHAR(255),
+                    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    refresh_token VARCHAR(255));
+                MERGE INTO users (id, kakao_id, user_id, nickname, created_at, updated_at) KEY (id)
+                    VALUES (%d, %d, 'Ustartup', 'startup', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+                """.formatted(SEED_USER_ID, SEED_USER_ID));
+        if ("cds".equals(mode)) {
+            archive = workDir.resolve("app.jsa");
+            List<String> training = new ArrayList<>(List.of(java(),
+                    "-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh"));
+            training.addAll(appArgs(freePort()));
+            run(training);
+        }
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopApp() throws InterruptedException {
+        if (app != null) {
+            app.destroy();
+            if (!app.waitFor(10, TimeUnit.SECONDS)) app.destroyForcibly().waitFor();
+            app = null;
+        }
+    }
+
+    /** 프로세스 시작 → 첫 /auth/me 200 까지 */
+    @Benchmark
+    public int timeToFirstMe() throws Exception {
+        int port = freePort();
+        List<String> cmd = new ArrayList<>(List.of(java()));
+        if (archive != null) cmd.add("-XX:SharedArchiveFile=" + archive);
+        cmd.addAll(appArgs(port));
+        app = new ProcessBuilder(cmd)
+                .directory(appJar.getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("app.log").toFile())
+                .start();
+
+        HttpRequest me = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/user/auth/me"))
+                .header("X-User-Id", String.valueOf(SEED_USER_ID))
+                .timeout(Duration.ofSeconds(5))
+                .GET().build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                throw new IllegalStateException("app exited with " + app.exitValue() + ", see " + workDir.resolve("app.log"));
+            }
+            try {
+                HttpResponse<Void> resp = http.send(me, HttpResponse.BodyHandlers.discarding());
+                if (resp.statusCode() == 200) return resp.statusCode();
+            } catch (IOException notListeningYet) {
+                // 포트가 아직 열리지 않음
+            }
+            Thread.sleep(5);
+        }
+        throw new IllegalStateException("/auth/me not ready within " + STARTUP_TIMEOUT);
+    }
+
+    private List<String> appArgs(int port) {
+        List<String> args = new ArrayList<>();
+        if (Boolean.getBoolean("startup.aot")) args.add("-Dspring.aot.enabled=true");
+        args.addAll(List.of(
+                "-jar", appJar.toString(),
+                "--spring.profiles.active=k8s,cds",
+                "--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM '" + seed + "'",
+                "--server.port=" + port,
+                "--request-timing.log=false",
+                "--logging.level.root=WARN"));
+        return args;
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() {
+        try (ServerSocket s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void run(List<String> cmd) throws IOException, InterruptedException {
+        Process p = new ProcessBuilder(cmd)
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("prepare.log").toFile())
+                .start();
+        if (!p.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS) || p.exitValue() != 0) {
+            p.destroyForcibly();
+            throw new IllegalStateException(String.join(" ", cmd) + " failed, see " + workDir.resolve("prepare.log"));
+        }
+    }
+}
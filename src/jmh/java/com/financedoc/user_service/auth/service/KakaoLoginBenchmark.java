@@ -0,0 +1,115 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.UserServiceApplication;
+import com.financedoc.user_service.auth.dto.request.KakaoAuthRequest;
+import com.financedoc.user_service.auth.dto.response.AuthTokensResponse;
+import com.financedoc.user_service.auth.dto.response.KakaoTokenResponse;
+import com.financedoc.user_service.auth.dto.response.KakaoUserInfoResponse;
+import com.financedoc.user_service.auth.security.KakaoAuthClient;
+import com.financedoc.user_service.auth.security.KakaoResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthService.kakaoLogin 전 구간(카카오 stub + H2 UserRepository + 토큰 발급 + refresh 저장).
+ * 카카오 왕복은 제외하고 서비스 내부 비용만 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class KakaoLoginBenchmark {
+
+    private static final int KAKAO_USERS = 10_000;
+
+    private ConfigurableApplicationContext ctx;
+    private AuthService auth;
+
+    @Setup
+    public void setUp() {
+        ctx = new SpringApplicationBuilder(UserServiceApplication.class, StubKakaoConfig.class)
+                .web(WebApplicationType.NONE)
+                .run(benchmarkArgs());
+        auth = ctx.getBean(AuthService.class);
+        // 신규 가입 경로는 워밍업 전에 한 번씩 태워 두고, 측정은 기존 사용자 로그인 경로로 한다
+        for (int i = 1; i <= KAKAO_USERS; i++) {
+            auth.kakaoLogin(new KakaoAuthRequest(null, "kakao-token-" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public AuthTokensResponse kakaoLoginWithAccessToken() {
+        int id = 1 + ThreadLocalRandom.current().nextInt(KAKAO_USERS);
+        return auth.kakaoLogin(new KakaoAuthRequest(null, "kakao-token-" + id));
+    }
+
+    @Benchmark
+    public AuthTokensResponse kakaoLoginWithCode() {
+        int id = 1 + ThreadLocalRandom.current().nextInt(KAKAO_USERS);
+        return auth.kakaoLogin(new KakaoAuthRequest("code-" + id, null));
+    }
+
+    static String[] benchmarkArgs() {
+        return new String[] {
+                "--spring.profiles.active=bench",
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--kakao.client-id=bench",
+                "--kakao.redirect-uri=http://localhost/user/auth/kakao",
+                "--jwt.secret=benchmark-secret-benchmark-secret-0123456789",
+                "--jwt.issuer=bench",
+                "--jwt.access-token-validity=1209600000",
+                "--jwt.refresh-token-validity=1209600000"
+        };
+    }
+
+    /** 네트워크 없이 토큰 문자열에서 카카오 회원 번호를 만들어 돌려주는 stub */
+    static class StubKakaoConfig {
+        @Bean
+        @Primary
+        KakaoAuthClient stubKakaoAuthClient() {
+            SimpleMeterRegistry meters = new SimpleMeterRegistry();
+            return new KakaoAuthClient("bench", "", "http://localhost/user/auth/kakao",
+                    "http://localhost", "http://localhost", 1000, 3000, 1, meters,
+                    KakaoResilience.defaults(meters)) {
+                @Override
+                public Mono<KakaoTokenResponse> exchangeCodeForToken(String code, String redirectUri) {
+                    KakaoTokenResponse token = new KakaoTokenResponse();
+                    token.accessToken = "kakao-token-" + code.substring("code-".length());
+                    return Mono.just(token);
+                }
+
+                @Override
+                public Mono<KakaoUserInfoResponse> getUserInfo(String kakaoAccessToken) {
+                    long id = Long.parseLong(kakaoAccessToken.substring("kakao-token-".length()));
+                    KakaoUserInfoResponse info = new KakaoUserInfoResponse();
+                    info.id = id;
+                    info.properties = new HashMap<>();
+                    info.properties.put("nickname", "user" + id);
+                    info.properties.put("profile_image", "https://img.example/" + id + ".png");
+                    return Mono.just(info);
+                }
+            };
+        }
+    }
+}
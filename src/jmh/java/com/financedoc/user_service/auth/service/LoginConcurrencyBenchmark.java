@@ -0,0 +1,122 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.UserServiceApplication;
+import com.financedoc.user_service.auth.dto.response.KakaoTokenResponse;
+import com.financedoc.user_service.auth.dto.response.KakaoUserInfoResponse;
+import com.financedoc.user_service.auth.security.KakaoAuthClient;
+import com.financedoc.user_service.auth.security.KakaoResilience;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 동시 로그인 부하 테스트 — 플랫폼 스레드(Tomcat 기본 200) vs 가상 스레드.
+ * 카카오 stub 이 호출마다 KAKAO_LATENCY_MS 만큼 지연되므로, 한 배치(IN_FLIGHT 건 동시 요청)의 소요 시간이
+ * 요청 스레드 수에 묶이는지(플랫폼) 카카오 동시 호출 상한에만 묶이는지(가상) 비교된다.
+ * 카카오 토큰은 호출(invocation)마다 새로 만든다 — 같은 토큰이면 KakaoUserInfoCache 적중으로 카카오 지연이 빠진다.
+ * 회원(kakaoId)은 1..IN_FLIGHT 를 재사용하므로 upsert 는 매번 같은 행을 다룬다.
+ * ./gradlew jmh -PjmhIncludes=LoginConcurrencyBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class LoginConcurrencyBenchmark {
+
+    private static final int IN_FLIGHT = 1_000;
+    private static final long KAKAO_LATENCY_MS = 200;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ServletWebServerApplicationContext ctx;
+    private HttpClient http;
+    private URI loginUri;
+    private int invocation;
+
+    @Setup
+    public void setUp() {
+        String[] args = Stream.concat(Stream.of(KakaoLoginBenchmark.benchmarkArgs()), Stream.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--login.limits.kakao-concurrency=" + IN_FLIGHT,
+                "--login.limits.acquire-timeout-ms=30000"
+        )).toArray(String[]::new);
+        ctx = (ServletWebServerApplicationContext) new SpringApplicationBuilder(
+                UserServiceApplication.class, SlowKakaoConfig.class).run(args);
+        loginUri = URI.create("http://127.0.0.1:" + ctx.getWebServer().getPort() + "/user/auth/kakao");
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+
+    /** IN_FLIGHT 건을 한꺼번에 보내고 모두 끝날 때까지의 시간 */
+    @Benchmark
+    public int concurrentLogins() {
+        invocation++;
+        List<CompletableFuture<HttpResponse<Void>>> inflight = new ArrayList<>(IN_FLIGHT);
+        for (int i = 1; i <= IN_FLIGHT; i++) {
+            String token = "kakao-token-" + i + "-" + invocation;   // kakao-token-{kakaoId}-{invocation}
+            HttpRequest req = HttpRequest.newBuilder(loginUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"kakaoAccessToken\":\"" + token + "\"}"))
+                    .build();
+            inflight.add(http.sendAsync(req, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> f : inflight) {
+            if (f.join().statusCode() == 200) ok++;
+        }
+        return ok;
+    }
+
+    /** 네트워크 없이 고정 지연 후 응답하는 카카오 stub */
+    static class SlowKakaoConfig {
+        @Bean
+        @Primary
+        KakaoAuthClient slowKakaoAuthClient() {
+            SimpleMeterRegistry meters = new SimpleMeterRegistry();
+            return new KakaoAuthClient("bench", "", "http://localhost/user/auth/kakao",
+                    "http://localhost", "http://localhost", 1000, 3000, 1, meters,
+                    KakaoResilience.defaults(meters)) {
+                @Override
+                public Mono<KakaoTokenResponse> exchangeCodeForToken(String code, String redirectUri) {
+                    KakaoTokenResponse token = new KakaoTokenResponse();
+                    token.accessToken = "kakao-token-" + code.substring("code-".length()) + "-0";
+                    return Mono.just(token).delayElement(Duration.ofMillis(KAKAO_LATENCY_MS));
+                }
+
+                @Override
+                public Mono<KakaoUserInfoResponse> getUserInfo(String kakaoAccessToken) {
+                    String rest = kakaoAccessToken.substring("kakao-token-".length());
+                    long id = Long.parseLong(rest.substring(0, rest.indexOf('-')));
+                    KakaoUserInfoResponse info = new KakaoUserInfoResponse();
+                    info.id = id;
+                    info.properties = new HashMap<>();
+                    info.properties.put("nickname", "user" + id);
+                    return Mono.just(info).delayElement(Duration.ofMillis(KAKAO_LATENCY_MS));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.financedoc.user_service.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemoryRefreshTokenStore 경합 상황 처리량 기준선.
+ * 8개 스레드가 같은 사용자 집합에 대해 save/exists/rotate/revoke 를 섞어 호출한다.
+ * rotate 는 스레드마다 겹치지 않는 사용자 구간(Slice)만 돌린다 — jtis 의 "현재 jti" 를 한 스레드만 갱신해야
+ * 회전이 매번 성공 경로를 잰다(구간이 겹치면 다른 스레드가 바꾼 jti 로 회전을 시도해 실패 경로가 섞인다).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class RefreshTokenStoreBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int JTIS_PER_USER = 4;
+
+    private RefreshTokenStore store;
+    private String[] jtis;
+    private Instant expiresAt;
+
+    @Setup
+    public void setUp() {
+        store = new InMemoryRefreshTokenStore(JTIS_PER_USER * 2, 60_000, new SimpleMeterRegistry());
+        expiresAt = Instant.now().plus(14, ChronoUnit.DAYS);
+        jtis = new String[USERS * JTIS_PER_USER];
+        for (int i = 0; i < jtis.length; i++) {
+            jtis[i] = UUID.randomUUID().toString();
+            store.save(i / JTIS_PER_USER, jtis[i], expiresAt);
+        }
+    }
+
+    @Benchmark
+    public boolean exists() {
+        int i = ThreadLocalRandom.current().nextInt(jtis.length);
+        return store.exists(i / JTIS_PER_USER, jtis[i]);
+    }
+
+    @Benchmark
+    public void save() {
+        store.save(ThreadLocalRandom.current().nextInt(USERS), UUID.randomUUID().toString(), expiresAt);
+    }
+
+    /** 스레드 전용 jtis 구간 [from, to) — 사용자 단위로 나눈다 */
+    @State(Scope.Thread)
+    public static class Slice {
+        int from;
+        int to;
+
+        @Setup
+        public void setUp(ThreadParams thread) {
+            int users = USERS / thread.getThreadCount();
+            from = thread.getThreadIndex() * users * JTIS_PER_USER;
+            to = from + users * JTIS_PER_USER;
+        }
+    }
+
+    @Benchmark
+    public boolean rotate(Slice slice) {
+        int i = ThreadLocalRandom.current().nextInt(slice.from, slice.to);
+        String next = UUID.randomUUID().toString();
+        boolean rotated = store.rotate(i / JTIS_PER_USER, jtis[i], next, expiresAt);
+        jtis[i] = next;
+        return rotated;
+    }
+
+    /** 읽기 6 : 쓰기 2 — /auth/refresh 위주 트래픽에 로그인이 섞이는 형태 */
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public boolean mixedExists() {
+        return exists();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public void mixedSave() {
+        save();
+    }
+}
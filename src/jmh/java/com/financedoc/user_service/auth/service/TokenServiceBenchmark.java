@@ -0,0 +1,85 @@
+package com.financedoc.user_service.auth.service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TokenService 발급/검증 처리량 기준선.
+ * create* 는 HmacTokenMinter 경로, create*Auth0 는 같은 설정에서 jwt.fast-mint.enabled=false (auth0 JWTCreator) 경로.
+ * 할당량 비교는 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 본다.
+ * ./gradlew jmh -PjmhIncludes=TokenServiceBenchmark
+ *
+ * 측정값 (JDK 21.0.1, 1 vCPU, -f 1 -wi 3 -i 5, ops/s ± 99.9% / B/op):
+ * <pre>
+ * createAccessToken          993,223 ± 116,404    280
+ * createAccessTokenAuth0     301,973 ±  55,240  5,128
+ * createRefreshToken         798,589 ± 208,781    360
+ * createRefreshTokenAuth0    249,039 ± 142,838  5,992
+ * verifyAccessToken          313,294 ± 141,639  5,088
+ * verifyRefreshToken         275,692 ± 115,063  5,728
+ * verifyRefreshTokenCached 1,315,054 ± 185,988    393
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+    private static final long VALIDITY_MS = 1209600000L;
+
+    private TokenService tokens;
+    private TokenService cachedTokens;
+    private TokenService auth0Tokens;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        tokens = new TokenService(SECRET, VALIDITY_MS, VALIDITY_MS, "bench", false, 0, new SimpleMeterRegistry());
+        cachedTokens = new TokenService(SECRET, VALIDITY_MS, VALIDITY_MS, "bench", true, 10_000, new SimpleMeterRegistry());
+        auth0Tokens = new TokenService(SECRET, VALIDITY_MS, VALIDITY_MS, "bench", false, 0, false, true, null, null,
+                new SimpleMeterRegistry());
+        accessToken = tokens.createAccessToken(42L);
+        refreshToken = tokens.createRefreshToken(42L, UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public String createAccessToken() {
+        return tokens.createAccessToken(42L);
+    }
+
+    @Benchmark
+    public String createRefreshToken() {
+        return tokens.createRefreshToken(42L, "0f8fad5b-d9cb-469f-a165-70867728950e");
+    }
+
+    @Benchmark
+    public String createAccessTokenAuth0() {
+        return auth0Tokens.createAccessToken(42L);
+    }
+
+    @Benchmark
+    public String createRefreshTokenAuth0() {
+        return auth0Tokens.createRefreshToken(42L, "0f8fad5b-d9cb-469f-a165-70867728950e");
+    }
+
+    @Benchmark
+    public DecodedJWT verifyAccessToken() {
+        return tokens.verify(accessToken);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyRefreshToken() {
+        return tokens.verify(refreshToken);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyRefreshTokenCached() {
+        return cachedTokens.verify(refreshToken);
+    }
+}
@@ -0,0 +1,57 @@
+package com.financedoc.user_service;
+
+import org.springframework.aot.AotDetector;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * AOT 빌드(-Paot)의 빈 구성 고정 검사.
+ * AOT 는 @ConditionalOnProperty / @ConditionalOnExpression / @ConditionalOnThreading 을 빌드 시점에 평가하므로
+ * refresh-store.type, outbox.publisher, spring.threads.virtual.enabled 는 이미지에 굳는다(build.gradle 의 aot* 속성).
+ * 빌드 때 값은 META-INF/aot-build.properties 로 함께 들어가고, AOT 산출물로 기동할 때 실행 환경 값이 다르면
+ * 조용히 빌드 때의 빈 구성으로 뜨는 대신 기동을 실패시킨다 — 값을 바꾸려면 이미지를 다시 빌드한다.
+ */
+@Component
+class AotBuildSettings {
+
+    static final String RESOURCE = "META-INF/aot-build.properties";
+
+    // 설정이 없을 때 조건이 보는 값 (matchIfMissing / 표현식 기본값 / 플랫폼 스레드)
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "refresh-store.type", "memory",
+            "outbox.publisher", "local",
+            "spring.threads.virtual.enabled", "false"
+    );
+
+    AotBuildSettings(Environment env) throws IOException {
+        if (!AotDetector.useGeneratedArtifacts()) return;
+        ClassPathResource resource = new ClassPathResource(RESOURCE);
+        if (!resource.exists()) return;
+        List<String> mismatches = mismatches(PropertiesLoaderUtils.loadProperties(resource), env);
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("AOT 빌드 때 고정된 설정과 실행 환경이 다릅니다: " + mismatches
+                    + " — 같은 값으로 이미지를 다시 빌드하세요 (./gradlew bootJar -Paot -PaotRefreshStore=... -PaotVirtualThreads=...)");
+        }
+    }
+
+    static List<String> mismatches(Properties built, PropertyResolver env) {
+        List<String> mismatches = new ArrayList<>();
+        for (String key : built.stringPropertyNames()) {
+            String expected = built.getProperty(key);
+            String actual = env.getProperty(key, DEFAULTS.getOrDefault(key, ""));
+            if (!expected.equalsIgnoreCase(actual.trim())) {
+                mismatches.add(key + "(build=" + expected + ", runtime=" + actual + ")");
+            }
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,123 @@
+package com.financedoc.user_service.auth.controller;
+
+import com.financedoc.user_service.auth.dto.request.UserBatchRequest;
+import com.financedoc.user_service.auth.dto.response.MessageResponse;
+import com.financedoc.user_service.auth.dto.response.UserImportResponse;
+import com.financedoc.user_service.auth.dto.response.UserPageResponse;
+import com.financedoc.user_service.auth.security.AdminKeyGuard;
+import com.financedoc.user_service.auth.service.TokenEpochs;
+import com.financedoc.user_service.auth.service.UserExportService;
+import com.financedoc.user_service.auth.service.UserImportService;
+import com.financedoc.user_service.auth.service.UserListingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+@RestController
+@Lazy   // 관리자/테스트 경로 — 첫 요청 때 생성해 기동 시간에서 뺀다
+@RequiredArgsConstructor
+@RequestMapping("/admin/users")
+@Tag(name = "Admin Users", description = "관리자용 사용자 이관/내보내기 API (X-Admin-Key 필요)")
+public class AdminUserController {
+
+    private static final Object ASYNC_TIMEOUT_KEY = AdminUserController.class.getName() + ".asyncTimeout";
+
+    private final AdminKeyGuard adminGuard;
+    private final UserImportService importService;
+    private final UserExportService exportService;
+    private final UserListingService listingService;
+    private final TokenEpochs tokenEpochs;
+
+    /** 레거시 계정 일괄 이관 — 요청 본문(NDJSON)을 버퍼링 없이 한 줄씩 읽는다 */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "application/json"})
+    @Operation(summary = "사용자 일괄 이관", description = "NDJSON(한 줄에 사용자 하나)을 user_id 기준으로 upsert. 결과로 처리 건수와 초당 처리량 반환")
+    @ApiResponse(responseCode = "200", description = "이관 완료", content = @Content(schema = @Schema(implementation = UserImportResponse.class)))
+    public ResponseEntity<UserImportResponse> importUsers(
+            @RequestHeader(value = "X-Admin-Key", required = false) String adminKey,
+            HttpServletRequest request
+    ) throws IOException {
+        adminGuard.check(adminKey);
+        return ResponseEntity.ok(importService.importNdjson(request.getInputStream()));
+    }
+
+    /** 전체/증분 내보내기 — NDJSON 을 출력 스트림에 바로 쓴다. 비동기 타임아웃은 user-export.timeout-ms */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "사용자 내보내기", description = "사용자 전체(id 순) 또는 since 이후 변경분(updated_at 순)을 NDJSON 으로 스트리밍. password 등 민감 컬럼 제외")
+    @ApiResponse(responseCode = "200", description = "성공")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestHeader(value = "X-Admin-Key", required = false) String adminKey,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant since,
+            HttpServletRequest request
+    ) {
+        adminGuard.check(adminKey);
+        asyncTimeout(request, exportService.timeoutMs());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> exportService.writeNdjson(since, out));
+    }
+
+    /** 관리자 사용자 목록 — keyset 커서 페이지(최신순) */
+    @GetMapping
+    @Operation(summary = "사용자 목록", description = "created_at 또는 updated_at 최신순 keyset 페이지. 이메일/닉네임 접두어 필터 지원, 다음 페이지는 nextCursor 로 요청")
+    @ApiResponse(responseCode = "200", description = "성공", content = @Content(schema = @Schema(implementation = UserPageResponse.class)))
+    public ResponseEntity<UserPageResponse> listUsers(
+            @RequestHeader(value = "X-Admin-Key", required = false) String adminKey,
+            @RequestParam(defaultValue = "CREATED_AT") UserListingService.SortKey sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(required = false) String nicknamePrefix
+    ) {
+        adminGuard.check(adminKey);
+        return ResponseEntity.ok(listingService.list(sort, cursor, size, emailPrefix, nicknamePrefix));
+    }
+
+    /** 사고 대응 — 여러 사용자의 모든 토큰을 UPDATE 한 번으로 폐기 */
+    @PostMapping("/revoke-tokens")
+    @Operation(summary = "사용자 토큰 일괄 폐기", description = "지정한 사용자(최대 5000명)의 토큰 not-before 를 현재 시각으로 올려 기존 액세스/리프레시 토큰을 모두 무효화")
+    @ApiResponse(responseCode = "200", description = "폐기 완료", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+    public ResponseEntity<MessageResponse> revokeTokens(
+            @RequestHeader(value = "X-Admin-Key", required = false) String adminKey,
+            @Valid @RequestBody UserBatchRequest request
+    ) {
+        adminGuard.check(adminKey);
+        List<Long> ids = request.getIds().stream().distinct().toList();
+        long notBefore = tokenEpochs.revokeAll(ids);
+        return ResponseEntity.ok(new MessageResponse(ids.size() + "명의 토큰을 폐기했습니다. (notBefore=" + notBefore + ")"));
+    }
+
+    /**
+     * 이 요청의 StreamingResponseBody 에만 비동기 타임아웃 적용.
+     * 반환값 처리기는 타임아웃 없는 WebAsyncTask 로 감싸 spring.mvc.async.request-timeout 을 쓰므로,
+     * 비동기 시작 직전(beforeConcurrentHandling)에 요청 단위로 덮어쓴다.
+     */
+    private static void asyncTimeout(HttpServletRequest request, long timeoutMs) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ASYNC_TIMEOUT_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest async) async.setTimeout(timeoutMs);
+                    }
+                });
+    }
+}
@@ -5,8 +5,12 @@ import com.financedoc.user_service.auth.dto.request.RefreshTokenRequest;
 import com.financedoc.user_service.auth.dto.response.AuthTokensResponse;
 import com.financedoc.user_service.auth.dto.response.MessageResponse;
 import com.financedoc.user_service.auth.dto.response.NewAccessTokenResponse;
+import com.financedoc.user_service.auth.dto.response.TokenEpochsResponse;
+import com.financedoc.user_service.auth.dto.response.TokenPairResponse;
 import com.financedoc.user_service.auth.dto.response.UserResponse;
+import com.financedoc.user_service.auth.security.AdminKeyGuard;
 import com.financedoc.user_service.auth.service.AuthService;
+import com.financedoc.user_service.auth.service.TokenEpochs;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -30,6 +34,8 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 public class AuthController {
 
     private final AuthService authService;
+    private final TokenEpochs tokenEpochs;
+    private final AdminKeyGuard adminGuard;
 
     /** 카카오 콜백: 로그인/회원가입 처리 후 토큰 '발급만' 수행 */
     @GetMapping("/kakao")
@@ -126,6 +132,16 @@ public class AuthController {
         return ResponseEntity.ok(new NewAccessTokenResponse(newAccessToken));
     }
 
+    /** 리프레시 토큰 회전 — 새 access/refresh 쌍 발급, 이전 refresh 는 즉시 폐기 */
+    @PostMapping("/refresh/rotate")
+    @Operation(summary = "리프레시 토큰 회전", description = "리프레시 토큰으로 새 액세스/리프레시 토큰 쌍 발급. 같은 토큰의 동시 요청은 같은 쌍을 받고, 이미 회전된 토큰 재사용 시 해당 사용자의 모든 리프레시 토큰을 폐기")
+    @ApiResponse(responseCode = "200", description = "회전 성공", content = @Content(schema = @Schema(implementation = TokenPairResponse.class)))
+    public ResponseEntity<TokenPairResponse> rotateRefresh(
+            @RequestBody RefreshTokenRequest request
+    ) {
+        return ResponseEntity.ok(authService.rotateRefreshToken(request.getRefreshToken()));
+    }
+
     /** 로그아웃 — 전달된 refresh의 jti만 폐기 */
     @PostMapping("/logout")
     @Operation(summary = "로그아웃", description = "리프레시 토큰 무효화")
@@ -137,4 +153,26 @@ public class AuthController {
         authService.logout(userId, request.getRefreshToken());
         return ResponseEntity.ok(new MessageResponse("로그아웃되었습니다."));
     }
-}
\ No newline at end of file
+
+    /** 모든 기기 로그아웃 — 이 사용자의 기존 access/refresh 토큰 전체 폐기 */
+    @PostMapping("/logout/all")
+    @Operation(summary = "모든 기기 로그아웃", description = "사용자의 토큰 not-before 를 현재 시각으로 올려, 이전에 발급된 모든 액세스/리프레시 토큰을 무효화")
+    @ApiResponse(responseCode = "200", description = "로그아웃 성공", content = @Content(schema = @Schema(implementation = MessageResponse.class)))
+    public ResponseEntity<MessageResponse> logoutAll(@RequestHeader("X-User-Id") Long userId) {
+        authService.logoutAll(userId);
+        return ResponseEntity.ok(new MessageResponse("모든 기기에서 로그아웃되었습니다."));
+    }
+
+    /** 토큰 not-before 변경분 — 게이트웨이가 주기적으로 받아 iat 검사에 쓴다. 사용자 id 목록이 노출되므로 X-Admin-Key 필요 */
+    @GetMapping("/token-epochs")
+    @Operation(summary = "토큰 not-before 변경분", description = "since(epoch seconds) 이후로 올라간 사용자별 not-before. 검증 측은 iat < notBefore 인 토큰을 거부 (서비스 간 호출 전용, X-Admin-Key 필요)")
+    @ApiResponse(responseCode = "200", description = "성공", content = @Content(schema = @Schema(implementation = TokenEpochsResponse.class)))
+    public ResponseEntity<TokenEpochsResponse> tokenEpochs(
+            @RequestHeader(value = "X-Admin-Key", required = false) String adminKey,
+            @RequestParam(defaultValue = "0") long since
+    ) {
+        adminGuard.check(adminKey);
+        long asOf = System.currentTimeMillis() / 1000;
+        return ResponseEntity.ok(new TokenEpochsResponse(tokenEpochs.changedSince(since), asOf));
+    }
+}
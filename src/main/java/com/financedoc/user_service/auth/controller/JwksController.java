@@ -0,0 +1,51 @@
+package com.financedoc.user_service.auth.controller;
+
+import com.financedoc.user_service.auth.service.SigningKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+@RestController
+@Tag(name = "JWKS", description = "JWT 검증용 공개키 (게이트웨이/타 서비스 로컬 검증)")
+public class JwksController {
+
+    private final SigningKeyRing keys;
+    private final CacheControl cacheControl;
+
+    public JwksController(
+            SigningKeyRing keys,
+            @Value("${jwt.signing.jwks-max-age-seconds:300}") long maxAgeSeconds
+    ) {
+        this.keys = keys;
+        // max-age 는 jwt.signing.publish-ahead-seconds 보다 짧게 — 새 키로 서명되기 전에 캐시가 갱신되도록
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds))
+                .cachePublic()
+                .staleWhileRevalidate(Duration.ofSeconds(maxAgeSeconds));
+    }
+
+    /** 직렬화해 둔 본문을 그대로 반환. If-None-Match 가 같으면 304 */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "JWKS", description = "현재/예정/은퇴 유예 중인 서명 공개키 목록(kid). ETag·max-age 로 캐시")
+    @ApiResponse(responseCode = "200", description = "성공")
+    public ResponseEntity<String> jwks(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        SigningKeyRing.Jwks jwks = keys.jwks();
+        if (jwks == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Asymmetric signing is disabled");
+        }
+        if (ifNoneMatch != null && (ifNoneMatch.equals("*") || ifNoneMatch.contains(jwks.etag()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(jwks.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(jwks.etag()).cacheControl(cacheControl).body(jwks.json());
+    }
+}
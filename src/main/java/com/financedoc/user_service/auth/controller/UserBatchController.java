@@ -0,0 +1,32 @@
+package com.financedoc.user_service.auth.controller;
+
+import com.financedoc.user_service.auth.dto.request.UserBatchRequest;
+import com.financedoc.user_service.auth.service.UserLookupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/auth/users")
+@Tag(name = "User Lookup", description = "서비스 간 사용자 프로필 배치 조회 API")
+public class UserBatchController {
+
+    private final UserLookupService lookup;
+
+    /** 작성자 id 목록 → 닉네임/아바타 (없는 id 는 missing 으로 표시) */
+    @PostMapping("/batch")
+    @Operation(summary = "사용자 배치 조회", description = "최대 5000개 사용자 ID를 한 번에 조회. 응답은 {users:[...], missing:[...]} 형태로 스트리밍")
+    @ApiResponse(responseCode = "200", description = "성공")
+    public ResponseEntity<StreamingResponseBody> batch(@Valid @RequestBody UserBatchRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> lookup.writeProfiles(request.getIds(), out));
+    }
+}
@@ -6,10 +6,12 @@ import com.financedoc.user_service.auth.entity.User;
 import com.financedoc.user_service.auth.repository.UserRepository;
 import com.financedoc.user_service.auth.service.TokenService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Lazy   // 관리자/테스트 경로 — 첫 요청 때 생성해 기동 시간에서 뺀다
 @RequiredArgsConstructor
 @RequestMapping("/test")
 public class UserTestController {
@@ -0,0 +1,21 @@
+package com.financedoc.user_service.auth.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Schema(description = "사용자 배치 조회 요청")
+public class UserBatchRequest {
+    @NotNull
+    @Size(max = 5000)
+    @Schema(description = "조회할 사용자 ID 목록(중복 허용, 최대 5000개)", example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<Long> ids;
+}
@@ -0,0 +1,23 @@
+package com.financedoc.user_service.auth.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/** 레거시 계정 이관 NDJSON 한 줄 */
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserImportRow {
+    private String userId;      // 이관 키 — 없으면 새로 생성
+    private Long kakaoId;
+    private String email;
+    private String nickname;
+    private String profileImageUrl;
+    private String password;
+    private Instant createdAt;
+}
@@ -0,0 +1,20 @@
+package com.financedoc.user_service.auth.dto.response;
+
+import com.financedoc.user_service.auth.repository.TokenEpochView;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "사용자별 토큰 not-before 변경분")
+public class TokenEpochsResponse {
+
+    @Schema(description = "since 이후로 올라간 not-before 목록 — iat(초)가 notBefore 보다 작은 토큰은 거부")
+    private List<TokenEpochView> epochs;
+
+    @Schema(description = "응답 기준 시각(epoch seconds) — 다음 요청의 since 로 사용(시계 차이만큼 여유를 빼서)", example = "1792224000")
+    private long asOf;
+}
@@ -0,0 +1,17 @@
+package com.financedoc.user_service.auth.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "회전된 액세스/리프레시 토큰 쌍")
+public class TokenPairResponse {
+
+    @Schema(description = "새 액세스 토큰", example = "eyJhbGciOiJIUzI1NiJ9...")
+    private String accessToken;
+
+    @Schema(description = "새 리프레시 토큰(이전 리프레시 토큰은 폐기됨)", example = "eyJhbGciOiJIUzI1NiJ9...")
+    private String refreshToken;
+}
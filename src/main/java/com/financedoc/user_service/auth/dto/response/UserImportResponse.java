@@ -0,0 +1,36 @@
+package com.financedoc.user_service.auth.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "사용자 일괄 이관 결과")
+public class UserImportResponse {
+    @Schema(description = "처리한 행 수", example = "1000000")
+    private long rows;
+
+    @Schema(description = "새로 추가된 사용자 수")
+    private long inserted;
+
+    @Schema(description = "갱신된 기존 사용자 수")
+    private long updated;
+
+    @Schema(description = "제약 위반(kakao_id 중복 등)으로 건너뛴 행 수")
+    private long skipped;
+
+    @Schema(description = "건너뛴 행의 줄 번호(최대 1000개)", example = "[17, 2048]")
+    private List<Long> skippedLines;
+
+    @Schema(description = "JSON 이 깨진 줄에서 멈췄을 때 이어서 보낼 줄 번호. 끝까지 처리했으면 null", example = "120001")
+    private Long resumeFromLine;
+
+    @Schema(description = "소요 시간(ms)")
+    private long elapsedMs;
+
+    @Schema(description = "초당 처리 행 수")
+    private long rowsPerSecond;
+}
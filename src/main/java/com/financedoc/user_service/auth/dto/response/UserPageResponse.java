@@ -0,0 +1,20 @@
+package com.financedoc.user_service.auth.dto.response;
+
+import com.financedoc.user_service.auth.repository.UserExportView;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Schema(description = "관리자 사용자 목록 페이지")
+public class UserPageResponse {
+
+    @Schema(description = "사용자 목록")
+    private List<UserExportView> users;
+
+    @Schema(description = "다음 페이지 커서(마지막 페이지면 null)", example = "MjAyNi0xMC0xN1QxMjowMDowMFosNDI")
+    private String nextCursor;
+}
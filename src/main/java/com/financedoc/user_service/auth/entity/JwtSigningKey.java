@@ -0,0 +1,39 @@
+package com.financedoc.user_service.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * SigningKeyRing 용 서명 키 테이블 정의(ddl-auto 로 생성). 읽기/쓰기는 JdbcTemplate 으로 직접 한다.
+ * 모든 레플리카가 같은 키 집합으로 서명/검증하도록 DB 에 둔다. 개인키는 jwt.secret 유도 키로 AES-GCM 암호화해 저장.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Entity
+@Table(name = "jwt_signing_keys")
+public class JwtSigningKey {
+
+    @Id
+    @Column(name = "kid", length = 36)
+    private String kid;
+
+    /** ES256 | RS256 */
+    @Column(name = "alg", nullable = false, length = 8)
+    private String alg;
+
+    /** X.509 DER */
+    @Column(name = "public_key", nullable = false, length = 4096)
+    private byte[] publicKey;
+
+    /** iv(12) || AES-GCM(PKCS#8 DER) */
+    @Column(name = "private_key", nullable = false, length = 4096)
+    private byte[] privateKey;
+
+    /** 이 시각(epoch millis)부터 서명에 쓰인다. 그 전에는 JWKS 에만 미리 게시 */
+    @Column(name = "active_from", nullable = false)
+    private long activeFrom;
+
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+}
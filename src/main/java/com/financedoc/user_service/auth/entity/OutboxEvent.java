@@ -0,0 +1,33 @@
+package com.financedoc.user_service.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * 트랜잭션 아웃박스 테이블 정의(ddl-auto 로 생성). 쓰기/릴레이는 JdbcTemplate 으로 직접 한다.
+ * 사용자 변경과 같은 트랜잭션에서 INSERT 되고, OutboxRelay 가 발행 후 삭제한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    public static final String USER_DELETED = "user.deleted";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 64)
+    private String eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private long aggregateId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+}
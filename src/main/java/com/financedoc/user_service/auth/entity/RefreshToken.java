@@ -0,0 +1,59 @@
+package com.financedoc.user_service.auth.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * JdbcRefreshTokenStore 용 테이블 정의(ddl-auto 로 생성). 읽기/쓰기는 JdbcTemplate 으로 직접 한다.
+ * jti(UUID) 는 상위/하위 64비트로 나눠 저장하고, PK (user_id, jti_hi, jti_lo) 하나로 exists 를 처리한다.
+ * 회전된 jti 는 지우지 않고 후속 jti 와 유예 종료 시각을 남긴다(grace_until 이 null 이면 살아 있는 토큰) —
+ * 다른 레플리카의 동시 회전은 유예 안이면 같은 후속 jti 를 받고, 유예 뒤 재사용은 탈취로 판정된다. 행은 expires_at 에 정리.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Entity
+@IdClass(RefreshToken.Key.class)
+@Table(name = "refresh_tokens",
+        indexes = @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at"))
+public class RefreshToken {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private long userId;
+
+    @Id
+    @Column(name = "jti_hi", nullable = false)
+    private long jtiHi;
+
+    @Id
+    @Column(name = "jti_lo", nullable = false)
+    private long jtiLo;
+
+    /** epoch millis */
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    /** 회전된 경우 후속 jti */
+    @Column(name = "rotated_to_hi")
+    private Long rotatedToHi;
+
+    @Column(name = "rotated_to_lo")
+    private Long rotatedToLo;
+
+    /** 회전된 경우 유예 종료 epoch millis, 살아 있는 토큰이면 null */
+    @Column(name = "grace_until")
+    private Long graceUntil;
+
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private long userId;
+        private long jtiHi;
+        private long jtiLo;
+    }
+}
@@ -3,9 +3,11 @@ package com.financedoc.user_service.auth.entity;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
 
 @Getter
 @Setter
@@ -13,10 +15,21 @@ import lombok.*;
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
 @Builder
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        // /me 프로필 조회(findProfileById)와 로그인 upsert 의 kakao_id 조회를 인덱스만으로 처리
+        @Index(name = "idx_users_profile", columnList = "id, nickname, avatar_url"),
+        @Index(name = "idx_users_kakao_profile", columnList = "kakao_id, id, nickname, avatar_url"),
+        // 관리자 목록 keyset 페이지((created_at, id) / (updated_at, id)) 와 증분 내보내기(since)
+        @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_users_updated_at_id", columnList = "updated_at, id"),
+        // 레플리카가 최근 올라간 토큰 epoch 만 주기적으로 읽는다 (TokenEpochs.poll)
+        @Index(name = "idx_users_tokens_not_before", columnList = "tokens_not_before")
+})
 public class User {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(generator = "users_id")
+    @GenericGenerator(name = "users_id", type = UserIdGenerator.class)
     private Long id;
 
     @Column(name = "password")
@@ -46,6 +59,10 @@ public class User {
     @Column(name = "refresh_token")
     private String refreshToken;
 
+    /** 이 시각(epoch seconds) 이전에 발급(iat)된 토큰은 모두 무효 — 사용자 단위 전체 폐기 */
+    @Column(name = "tokens_not_before")
+    private Long tokensNotBefore;
+
     public static User createFromKakao(Long kakaoId, String email, String nickname, String profileImageUrl) {
         User u = new User();
         u.kakaoId = kakaoId;
@@ -56,5 +73,10 @@ public class User {
     }
 
     public void updateNickname(String nickname) { this.nickname = nickname; }
+
+    /** user_id(NOT NULL/UNIQUE) 신규 발급 — "U" + 16자리 hex */
+    public static String generateUserId() {
+        return "U" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+    }
 }
 
@@ -0,0 +1,16 @@
+package com.financedoc.user_service.auth.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/** 네이티브 SQL 분기용 DB 구분 — PostgreSQL(k8s), MySQL(local), 그 외(H2 테스트/벤치) */
+enum DatabaseDialect {
+    POSTGRES, MYSQL, GENERIC;
+
+    static DatabaseDialect of(JdbcTemplate jdbc) {
+        String product = jdbc.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES
+                : "MySQL".equalsIgnoreCase(product) ? MYSQL
+                : GENERIC;
+    }
+}
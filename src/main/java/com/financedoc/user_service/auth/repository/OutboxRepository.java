@@ -0,0 +1,52 @@
+package com.financedoc.user_service.auth.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * outbox_events 릴레이용 JDBC 접근.
+ * PostgreSQL/MySQL 은 FOR UPDATE SKIP LOCKED 로 배치를 잠가 여러 레플리카의 릴레이가 같은 행을 동시에 보내지 않는다.
+ */
+@Repository
+public class OutboxRepository {
+
+    private static final String SELECT_BATCH =
+            "SELECT id, event_type, aggregate_id, occurred_at FROM outbox_events ORDER BY id LIMIT ?";
+    private static final String DELETE_ONE = "DELETE FROM outbox_events WHERE id = ?";
+
+    private static final RowMapper<UserEvent> EVENT = (rs, i) -> new UserEvent(
+            rs.getLong("id"), rs.getString("event_type"), rs.getLong("aggregate_id"),
+            rs.getTimestamp("occurred_at").toInstant());
+
+    private final JdbcTemplate jdbc;
+    private volatile DatabaseDialect dialect;
+
+    public OutboxRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** 가장 오래된 이벤트부터 limit 개 — 트랜잭션 안에서 호출해야 잠금이 유지된다 */
+    public List<UserEvent> lockBatch(int limit) {
+        String sql = dialect() == DatabaseDialect.GENERIC ? SELECT_BATCH : SELECT_BATCH + " FOR UPDATE SKIP LOCKED";
+        return jdbc.query(sql, EVENT, limit);
+    }
+
+    public void delete(List<UserEvent> events) {
+        List<Object[]> ids = new ArrayList<>(events.size());
+        for (UserEvent e : events) ids.add(new Object[] { e.id() });
+        jdbc.batchUpdate(DELETE_ONE, ids);
+    }
+
+    private DatabaseDialect dialect() {
+        DatabaseDialect d = dialect;
+        if (d == null) {
+            d = DatabaseDialect.of(jdbc);
+            dialect = d;
+        }
+        return d;
+    }
+}
@@ -0,0 +1,4 @@
+package com.financedoc.user_service.auth.repository;
+
+/** 사용자별 토큰 not-before (epoch seconds) */
+public record TokenEpochView(Long userId, Long notBefore) {}
@@ -0,0 +1,11 @@
+package com.financedoc.user_service.auth.repository;
+
+/** 탈퇴용 조건부 DELETE + user.deleted 아웃박스 기록 (UserRepository 프래그먼트) */
+public interface UserDeleteRepository {
+
+    /**
+     * id 행을 지우고 같은 트랜잭션에 user.deleted 이벤트를 남긴다.
+     * @return 삭제된 행 수(없으면 0 — 이벤트도 남기지 않음)
+     */
+    int deleteAndRecordEvent(long id);
+}
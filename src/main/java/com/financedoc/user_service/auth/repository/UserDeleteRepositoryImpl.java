@@ -0,0 +1,54 @@
+package com.financedoc.user_service.auth.repository;
+
+import com.financedoc.user_service.auth.entity.OutboxEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * DB 방언별 탈퇴 구현.
+ * - PostgreSQL: DELETE ... RETURNING 을 CTE 로 받아 아웃박스 INSERT 까지 한 문장 (영향 행 수 = 삭제 행 수)
+ * - 그 외: DELETE 후 1행이 지워졌을 때만 아웃박스 INSERT
+ * 엔티티를 먼저 읽지 않으므로 existsById/deleteById 의 SELECT 두 번이 없다.
+ */
+class UserDeleteRepositoryImpl implements UserDeleteRepository {
+
+    private static final String PG_DELETE = """
+            WITH d AS (DELETE FROM users WHERE id = ? RETURNING id)
+            INSERT INTO outbox_events (event_type, aggregate_id, occurred_at)
+            SELECT ?, id, ? FROM d
+            """;
+    private static final String DELETE = "DELETE FROM users WHERE id = ?";
+    private static final String INSERT_EVENT =
+            "INSERT INTO outbox_events (event_type, aggregate_id, occurred_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbc;
+    private volatile DatabaseDialect dialect;
+
+    UserDeleteRepositoryImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public int deleteAndRecordEvent(long id) {
+        Timestamp now = Timestamp.from(Instant.now());
+        if (dialect() == DatabaseDialect.POSTGRES) {
+            return jdbc.update(PG_DELETE, id, OutboxEvent.USER_DELETED, now);
+        }
+        int deleted = jdbc.update(DELETE, id);
+        if (deleted == 1) {
+            jdbc.update(INSERT_EVENT, OutboxEvent.USER_DELETED, id, now);
+        }
+        return deleted;
+    }
+
+    private DatabaseDialect dialect() {
+        DatabaseDialect d = dialect;
+        if (d == null) {
+            d = DatabaseDialect.of(jdbc);
+            dialect = d;
+        }
+        return d;
+    }
+}
@@ -0,0 +1,6 @@
+package com.financedoc.user_service.auth.repository;
+
+import java.time.Instant;
+
+/** outbox_events 한 행 — id 는 아웃박스 순번(소비자 중복 제거용), userId 는 대상 사용자 */
+public record UserEvent(long id, String type, long userId, Instant occurredAt) {}
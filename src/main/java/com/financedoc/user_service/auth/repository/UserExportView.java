@@ -0,0 +1,15 @@
+package com.financedoc.user_service.auth.repository;
+
+import java.time.Instant;
+
+/** 데이터 웨어하우스 내보내기용 프로젝션 — password/refresh_token 제외 */
+public record UserExportView(
+        Long id,
+        String userId,
+        Long kakaoId,
+        String email,
+        String nickname,
+        String profileImageUrl,
+        Instant createdAt,
+        Instant updatedAt
+) {}
@@ -0,0 +1,49 @@
+package com.financedoc.user_service.auth.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * users.id 가 IDENTITY 에서 users_id_pooled_seq 로 바뀌면서, 기존 행의 최대 id 보다 시퀀스가 뒤에 있으면 앞으로 당긴다.
+ * ddl-auto 가 시퀀스를 만든 뒤(entityManagerFactory 이후), 웹 서버가 요청을 받기 전에 한 번 실행된다.
+ * 이미 발급된 블록과 겹치지 않도록 시퀀스는 앞으로만 움직인다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+class UserIdSequenceAligner {
+
+    private static final String PG_ALIGN = """
+            SELECT setval('users_id_pooled_seq', GREATEST(t.m + 1, s.last_value + s.increment_by), false)
+            FROM (SELECT COALESCE(MAX(id), 0) AS m FROM users) t,
+                 (SELECT last_value, (SELECT increment_by FROM pg_sequences WHERE sequencename = 'users_id_pooled_seq') AS increment_by
+                  FROM users_id_pooled_seq) s
+            WHERE t.m >= s.last_value
+            """;
+    private static final String MYSQL_ALIGN = """
+            UPDATE users_id_pooled_seq
+            SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM users))
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    UserIdSequenceAligner(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @PostConstruct
+    void align() {
+        switch (DatabaseDialect.of(jdbc)) {
+            case POSTGRES -> {
+                if (!jdbc.queryForList(PG_ALIGN).isEmpty()) {
+                    log.info("[users] users_id_pooled_seq advanced past existing ids");
+                }
+            }
+            case MYSQL -> jdbc.update(MYSQL_ALIGN);
+            case GENERIC -> { } // 테스트/벤치 DB 는 매번 새로 생성
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.financedoc.user_service.auth.repository;
+
+/** 읽기 경로용 프로젝션 — password/refresh_token 등은 읽지 않는다 */
+public record UserProfileView(Long id, String nickname, String profileImageUrl) {}
@@ -1,12 +1,56 @@
 package com.financedoc.user_service.auth.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import com.financedoc.user_service.auth.entity.User;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserUpsertRepository, UserDeleteRepository {
     Optional<User> findByKakaoId(Long kakaoId);
     Optional<User> findByUserId(String userId);
+    List<User> findAllByUserIdIn(Collection<String> userIds);
 
-}
+    // idx_users_profile 로 index-only scan. /me 캐시 miss 때만 불리는 loader — 트랜잭션(커넥션)도 이 조회에서만 잡는다
+    @Transactional(readOnly = true)
+    @Query("select new com.financedoc.user_service.auth.repository.UserProfileView(u.id, u.nickname, u.profileImageUrl) "
+            + "from User u where u.id = :id")
+    Optional<UserProfileView> findProfileById(@Param("id") Long id);
+
+    // 배치 조회 — 호출 측에서 IN 목록 크기를 나눠 넘긴다
+    @Query("select new com.financedoc.user_service.auth.repository.UserProfileView(u.id, u.nickname, u.profileImageUrl) "
+            + "from User u where u.id in :ids")
+    List<UserProfileView> findProfilesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 전체 내보내기 — id keyset 페이지 (PK 순)
+    @Query("select new com.financedoc.user_service.auth.repository.UserExportView("
+            + "u.id, u.userId, u.kakaoId, u.email, u.nickname, u.profileImageUrl, u.createdAt, u.updatedAt) "
+            + "from User u where u.id > :afterId order by u.id")
+    List<UserExportView> findExportPage(@Param("afterId") long afterId, Limit limit);
+
+    // 증분 내보내기 — (updated_at, id) keyset 페이지. idx_users_updated_at_id 범위 스캔이라 변경분만 읽는다
+    @Query("select new com.financedoc.user_service.auth.repository.UserExportView("
+            + "u.id, u.userId, u.kakaoId, u.email, u.nickname, u.profileImageUrl, u.createdAt, u.updatedAt) "
+            + "from User u where u.updatedAt > :afterAt or (u.updatedAt = :afterAt and u.id > :afterId) "
+            + "order by u.updatedAt, u.id")
+    List<UserExportView> findExportPageSince(@Param("afterAt") Instant afterAt, @Param("afterId") long afterId,
+                                             Limit limit);
 
+    // 사용자 단위 토큰 폐기 — not-before 를 올리기만 하는 UPDATE 한 문장 (jti 를 훑거나 남기지 않음)
+    @Modifying
+    @Query("update User u set u.tokensNotBefore = :epoch "
+            + "where u.id in :ids and (u.tokensNotBefore is null or u.tokensNotBefore < :epoch)")
+    int raiseTokensNotBefore(@Param("ids") Collection<Long> ids, @Param("epoch") long epoch);
+
+    // idx_users_tokens_not_before — since 이후로 올라간 epoch 만
+    @Query("select new com.financedoc.user_service.auth.repository.TokenEpochView(u.id, u.tokensNotBefore) "
+            + "from User u where u.tokensNotBefore > :since")
+    List<TokenEpochView> findTokenEpochsSince(@Param("since") long since);
+
+}
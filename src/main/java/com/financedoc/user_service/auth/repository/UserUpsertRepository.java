@@ -0,0 +1,13 @@
+package com.financedoc.user_service.auth.repository;
+
+/** 카카오 로그인용 단일 왕복 upsert (UserRepository 프래그먼트) */
+public interface UserUpsertRepository {
+
+    /**
+     * kakao_id 기준 upsert. null 인 값은 기존 값을 유지하고, 바뀐 값이 없으면 쓰지 않는다.
+     * userId 는 새로 INSERT 될 때만 쓰인다.
+     */
+    UpsertedUser upsertFromKakao(long kakaoId, String userId, String email, String nickname, String profileImageUrl);
+
+    record UpsertedUser(Long id, String nickname, String profileImageUrl) {}
+}
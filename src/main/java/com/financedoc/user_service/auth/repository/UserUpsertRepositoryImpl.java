@@ -0,0 +1,175 @@
+package com.financedoc.user_service.auth.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DB 방언별 upsert 구현. 기존 회원(로그인 대부분)은 시퀀스를 건드리지 않고, 새 회원을 INSERT 할 때만 id 를 받는다.
+ * - PostgreSQL: 변경 시에만 UPDATE + 기존 행 SELECT 를 CTE 한 문장(PG_UPDATE_EXISTING)으로. 행이 없을 때만
+ *   INSERT ... ON CONFLICT DO UPDATE (동시 첫 로그인 대비, PG_UPSERT)로 nextval 을 쓴다
+ *   — VALUES 안의 nextval 은 충돌로 UPDATE 가 되더라도 평가돼 매 로그인마다 pooled 블록 하나를 태운다
+ * - MySQL(local): SELECT 후 변경분 UPDATE, 행이 없을 때만 id 예약 + INSERT ... ON DUPLICATE KEY UPDATE
+ *   — 시퀀스 행 락은 새 회원 INSERT 때만 잡는다
+ * - 그 외(H2 등 테스트/벤치): SELECT 후 INSERT 또는 변경분 UPDATE
+ * 왕복 수: 기존 회원은 PG 1문장, MySQL 1~2문장. 새 회원은 PG 2문장(PG_UPDATE_EXISTING → PG_UPSERT),
+ * MySQL 최대 5문장(SELECT, id 예약, LAST_INSERT_ID, INSERT, 재조회). 단일 upsert 문장 하나로 줄이지 않은 건 의도적이다
+ * — 그러면 충돌(= 기존 회원) 때마다 시퀀스 값을 태우게 되는데, 새 회원 가입은 로그인 중 드물어 몇 왕복 더 쓰는 편이 싸다.
+ * id 는 JPA 와 같은 users_id_pooled_seq 에서 받는다. Hibernate 는 pooled-lo 라 받은 값부터 allocation_size 개를 쓰므로
+ * PostgreSQL 의 nextval 한 번은 블록(increment_by) 하나를 통째로 소비하고, MySQL 예약은 next_val 을 1 만 올린다.
+ * 어느 쪽이든 Hibernate 가 쥔 블록과는 겹치지 않는다.
+ */
+class UserUpsertRepositoryImpl implements UserUpsertRepository {
+
+    // 파라미터: kakao_id(cur), email, nickname, avatar_url, updated_at, kakao_id, email, nickname, avatar_url
+    private static final String PG_UPDATE_EXISTING = """
+            WITH cur AS (
+                SELECT id, nickname, avatar_url FROM users WHERE kakao_id = ?
+            ), up AS (
+                UPDATE users SET
+                    email      = COALESCE(?, email),
+                    nickname   = COALESCE(?, nickname),
+                    avatar_url = COALESCE(?, avatar_url),
+                    updated_at = ?
+                WHERE kakao_id = ?
+                  AND (COALESCE(?, email) IS DISTINCT FROM email
+                    OR COALESCE(?, nickname) IS DISTINCT FROM nickname
+                    OR COALESCE(?, avatar_url) IS DISTINCT FROM avatar_url)
+                RETURNING id, nickname, avatar_url
+            )
+            SELECT id, nickname, avatar_url FROM up
+            UNION ALL
+            SELECT id, nickname, avatar_url FROM cur WHERE NOT EXISTS (SELECT 1 FROM up)
+            """;
+
+    private static final String PG_UPSERT = """
+            WITH up AS (
+                INSERT INTO users (id, kakao_id, user_id, email, nickname, avatar_url, created_at, updated_at)
+                VALUES (nextval('users_id_pooled_seq'), ?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (kakao_id) DO UPDATE SET
+                    email      = COALESCE(EXCLUDED.email, users.email),
+                    nickname   = COALESCE(EXCLUDED.nickname, users.nickname),
+                    avatar_url = COALESCE(EXCLUDED.avatar_url, users.avatar_url),
+                    updated_at = EXCLUDED.updated_at
+                WHERE (EXCLUDED.email IS NOT NULL AND EXCLUDED.email IS DISTINCT FROM users.email)
+                   OR (EXCLUDED.nickname IS NOT NULL AND EXCLUDED.nickname IS DISTINCT FROM users.nickname)
+                   OR (EXCLUDED.avatar_url IS NOT NULL AND EXCLUDED.avatar_url IS DISTINCT FROM users.avatar_url)
+                RETURNING id, nickname, avatar_url
+            )
+            SELECT id, nickname, avatar_url FROM up
+            UNION ALL
+            SELECT id, nickname, avatar_url FROM users WHERE kakao_id = ? AND NOT EXISTS (SELECT 1 FROM up)
+            """;
+
+    // updated_at 을 먼저 계산해야 변경 여부 비교가 갱신 전 값으로 이뤄진다(MySQL 은 SET 을 왼쪽부터 적용)
+    private static final String MYSQL_UPSERT = """
+            INSERT INTO users (id, kakao_id, user_id, email, nickname, avatar_url, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                updated_at = IF(COALESCE(VALUES(email), email) <=> email
+                                AND COALESCE(VALUES(nickname), nickname) <=> nickname
+                                AND COALESCE(VALUES(avatar_url), avatar_url) <=> avatar_url,
+                                updated_at, VALUES(updated_at)),
+                email      = COALESCE(VALUES(email), email),
+                nickname   = COALESCE(VALUES(nickname), nickname),
+                avatar_url = COALESCE(VALUES(avatar_url), avatar_url)
+            """;
+
+    // MySQL 은 시퀀스가 없어 Hibernate 가 테이블(next_val)로 흉내 낸다 — 같은 커넥션에서 LAST_INSERT_ID 로 회수
+    private static final String MYSQL_RESERVE_ID =
+            "UPDATE users_id_pooled_seq SET next_val = LAST_INSERT_ID(next_val) + 1";
+    private static final String GENERIC_NEXT_ID = "SELECT NEXT VALUE FOR users_id_pooled_seq";
+
+    private static final String SELECT_BY_KAKAO_ID =
+            "SELECT id, nickname, avatar_url, email FROM users WHERE kakao_id = ?";
+    private static final String INSERT = """
+            INSERT INTO users (id, kakao_id, user_id, email, nickname, avatar_url, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String UPDATE = """
+            UPDATE users SET email = COALESCE(?, email), nickname = COALESCE(?, nickname),
+                             avatar_url = COALESCE(?, avatar_url), updated_at = ?
+            WHERE id = ?
+            """;
+
+    private static final RowMapper<UpsertedUser> UPSERTED =
+            (rs, i) -> new UpsertedUser(rs.getLong("id"), rs.getString("nickname"), rs.getString("avatar_url"));
+
+    private record Row(long id, String nickname, String avatarUrl, String email) {}
+
+    private final JdbcTemplate jdbc;
+    private volatile DatabaseDialect dialect;
+
+    UserUpsertRepositoryImpl(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public UpsertedUser upsertFromKakao(long kakaoId, String userId, String email, String nickname, String profileImageUrl) {
+        Timestamp now = Timestamp.from(Instant.now());
+        return switch (dialect()) {
+            case POSTGRES -> {
+                List<UpsertedUser> existing = jdbc.query(PG_UPDATE_EXISTING, UPSERTED, kakaoId,
+                        email, nickname, profileImageUrl, now, kakaoId, email, nickname, profileImageUrl);
+                if (!existing.isEmpty()) yield existing.get(0);
+                List<UpsertedUser> rows = jdbc.query(PG_UPSERT, UPSERTED,
+                        kakaoId, userId, email, nickname, profileImageUrl, now, now, kakaoId);
+                // 동시 INSERT 와 겹쳐 미변경 분기가 문장 시작 시점 스냅샷을 본 경우에만 비어 있다
+                yield rows.isEmpty() ? jdbc.queryForObject(SELECT_BY_KAKAO_ID, UPSERTED, kakaoId) : rows.get(0);
+            }
+            case MYSQL -> {
+                Row row = findByKakaoId(kakaoId);
+                if (row != null) yield updateIfChanged(row, email, nickname, profileImageUrl, now);
+                jdbc.update(MYSQL_RESERVE_ID);
+                Long id = jdbc.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+                jdbc.update(MYSQL_UPSERT, id, kakaoId, userId, email, nickname, profileImageUrl, now, now);
+                yield jdbc.queryForObject(SELECT_BY_KAKAO_ID, UPSERTED, kakaoId);
+            }
+            case GENERIC -> genericUpsert(kakaoId, userId, email, nickname, profileImageUrl, now);
+        };
+    }
+
+    private UpsertedUser genericUpsert(long kakaoId, String userId, String email, String nickname,
+                                       String profileImageUrl, Timestamp now) {
+        Row row = findByKakaoId(kakaoId);
+        if (row == null) {
+            Long id = jdbc.queryForObject(GENERIC_NEXT_ID, Long.class);
+            jdbc.update(INSERT, id, kakaoId, userId, email, nickname, profileImageUrl, now, now);
+            return jdbc.queryForObject(SELECT_BY_KAKAO_ID, UPSERTED, kakaoId);
+        }
+        return updateIfChanged(row, email, nickname, profileImageUrl, now);
+    }
+
+    private Row findByKakaoId(long kakaoId) {
+        List<Row> found = jdbc.query(SELECT_BY_KAKAO_ID, (rs, i) -> new Row(
+                rs.getLong("id"), rs.getString("nickname"), rs.getString("avatar_url"), rs.getString("email")
+        ), kakaoId);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    private UpsertedUser updateIfChanged(Row row, String email, String nickname, String profileImageUrl, Timestamp now) {
+        if (!changed(nickname, row.nickname) && !changed(profileImageUrl, row.avatarUrl) && !changed(email, row.email)) {
+            return new UpsertedUser(row.id, row.nickname, row.avatarUrl);
+        }
+        jdbc.update(UPDATE, email, nickname, profileImageUrl, now, row.id);
+        return new UpsertedUser(row.id,
+                nickname != null ? nickname : row.nickname,
+                profileImageUrl != null ? profileImageUrl : row.avatarUrl);
+    }
+
+    private static boolean changed(String incoming, String current) {
+        return incoming != null && !incoming.equals(current);
+    }
+
+    private DatabaseDialect dialect() {
+        DatabaseDialect d = dialect;
+        if (d == null) {
+            d = DatabaseDialect.of(jdbc);
+            dialect = d;
+        }
+        return d;
+    }
+}
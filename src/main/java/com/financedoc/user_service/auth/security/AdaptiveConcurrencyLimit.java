@@ -0,0 +1,79 @@
+package com.financedoc.user_service.auth.security;
+
+/**
+ * AIMD + 지연 기울기 기반 동시 호출 상한 — 대기열 없이 상한을 넘는 호출은 즉시 거절한다.
+ * - 성공이면서 지연이 기준(최소 RTT)의 latency-tolerance 배 이내이고 상한을 절반 이상 쓰고 있으면 상한 += 1/상한
+ *   (상한만큼 성공하면 +1 — 가법 증가)
+ * - 실패(5xx/타임아웃)이면 상한 *= backoff-ratio
+ * - 최근 지연(EWMA)이 기준의 latency-tolerance 배를 넘고 상한을 절반 이상 쓰고 있으면(상대 서버에 대기열이 생김)
+ *   역시 상한 *= backoff-ratio — 단건 지터로는 줄이지 않는다
+ * - 기준 RTT 는 더 빠른 표본이 오면 바로 낮추고, 느린 표본 쪽으로는 아주 천천히 올린다(경로 변화 추종)
+ */
+final class AdaptiveConcurrencyLimit {
+
+    enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    private static final double BASELINE_DRIFT = 0.001;
+    private static final double RECENT_ALPHA = 0.1;
+
+    private final int min;
+    private final int max;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private double limit;
+    private int inFlight;
+    private double baselineNanos;
+    private double recentNanos;
+
+    AdaptiveConcurrencyLimit(int initial, int min, int max, double backoffRatio, double latencyTolerance) {
+        if (min < 1 || max < min) throw new IllegalStateException("concurrency limit requires 1 <= min <= max");
+        this.min = min;
+        this.max = max;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(min, Math.min(max, initial));
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) return false;
+        inFlight++;
+        return true;
+    }
+
+    /** tryAcquire 가 true 였던 호출마다 한 번 */
+    synchronized void release(long elapsedNanos, Outcome outcome) {
+        int used = inFlight;
+        inFlight--;
+        switch (outcome) {
+            case IGNORED -> { }
+            case DROPPED -> decrease();
+            case SUCCESS -> {
+                if (baselineNanos == 0 || elapsedNanos < baselineNanos) {
+                    baselineNanos = elapsedNanos;
+                } else {
+                    baselineNanos += (elapsedNanos - baselineNanos) * BASELINE_DRIFT;
+                }
+                recentNanos = recentNanos == 0 ? elapsedNanos : recentNanos + (elapsedNanos - recentNanos) * RECENT_ALPHA;
+                if (used * 2 < limit) return;   // 상한을 다 쓰지 않는 중에는 지연 신호로 상한을 판단하지 않는다
+                if (recentNanos > baselineNanos * latencyTolerance) {
+                    decrease();
+                } else {
+                    limit = Math.min(max, limit + 1 / limit);
+                }
+            }
+        }
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private void decrease() {
+        limit = Math.max(min, limit * backoffRatio);
+    }
+}
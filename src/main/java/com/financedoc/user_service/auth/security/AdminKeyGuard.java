@@ -0,0 +1,28 @@
+package com.financedoc.user_service.auth.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/** /admin/** 와 서비스 간 호출(/auth/token-epochs)의 X-Admin-Key 확인. admin.api-key 가 비어 있으면 모두 비활성화. */
+@Component
+public class AdminKeyGuard {
+
+    private final byte[] adminKey;
+
+    public AdminKeyGuard(@Value("${admin.api-key:}") String adminKey) {
+        this.adminKey = StringUtils.hasText(adminKey) ? adminKey.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    public void check(String providedKey) {
+        if (adminKey == null || providedKey == null
+                || !MessageDigest.isEqual(adminKey, providedKey.getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Admin key required");
+        }
+    }
+}
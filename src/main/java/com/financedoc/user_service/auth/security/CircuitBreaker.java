@@ -0,0 +1,133 @@
+package com.financedoc.user_service.auth.security;
+
+import java.util.Arrays;
+
+/**
+ * 카운트 기반 슬라이딩 윈도 서킷 브레이커 — 실패율 또는 느린 호출 비율이 임계치를 넘으면 연다.
+ * - CLOSED: 최근 window-size 건 결과를 보고, minimum-calls 이상 쌓였을 때 비율을 판단
+ * - OPEN: open-ms 동안 호출하지 않고 바로 거절 (Retry-After 는 남은 시간)
+ * - HALF_OPEN: half-open-calls 건만 시험 호출 — 모두 정상이면 CLOSED, 하나라도 실패/지연이면 다시 OPEN
+ * 시간은 System.nanoTime 기준이고 호출자가 넘긴다(테스트에서 고정 가능).
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final int slowCallRatePercent;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenPassed;
+
+    CircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent, int slowCallRatePercent,
+                   long slowCallMs, long openMs, int halfOpenCalls) {
+        if (windowSize < 1 || minimumCalls < 1 || halfOpenCalls < 1) {
+            throw new IllegalStateException("circuit breaker window/minimum/half-open calls must be >= 1");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRatePercent = failureRatePercent;
+        this.slowCallRatePercent = slowCallRatePercent;
+        this.slowCallNanos = slowCallMs * 1_000_000;
+        this.openNanos = openMs * 1_000_000;
+        this.halfOpenCalls = halfOpenCalls;
+        this.failed = new boolean[windowSize];
+        this.slow = new boolean[windowSize];
+    }
+
+    /** 호출 허용 여부. true 면 반드시 onResult 또는 onIgnored 로 끝을 알린다. */
+    synchronized boolean tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < openNanos) return false;
+            state = State.HALF_OPEN;
+            halfOpenInFlight = 0;
+            halfOpenPassed = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenCalls) return false;
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    synchronized void onResult(long now, long elapsedNanos, boolean failure) {
+        boolean isSlow = elapsedNanos >= slowCallNanos;
+        switch (state) {
+            case HALF_OPEN -> {
+                if (halfOpenInFlight > 0) halfOpenInFlight--;
+                if (failure || isSlow) {
+                    open(now);
+                } else if (++halfOpenPassed >= halfOpenCalls) {
+                    close();
+                }
+            }
+            case CLOSED -> {
+                record(failure, isSlow);
+                if (recorded >= minimumCalls
+                        && (failures * 100 >= failureRatePercent * recorded
+                        || slowCalls * 100 >= slowCallRatePercent * recorded)) {
+                    open(now);
+                }
+            }
+            case OPEN -> { }   // 열리기 전에 나간 호출의 늦은 결과
+        }
+    }
+
+    /** 결과를 판단에 쓰지 않는 종료(취소, 헤지 패배) */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) halfOpenInFlight--;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /** OPEN 이면 다시 시도해 볼 수 있을 때까지 남은 ms, 아니면 0 */
+    synchronized long retryAfterMs(long now) {
+        if (state != State.OPEN) return 0;
+        return Math.max(0, (openNanos - (now - openedAt)) / 1_000_000);
+    }
+
+    private void record(boolean failure, boolean isSlow) {
+        if (recorded == windowSize) {
+            if (failed[next]) failures--;
+            if (slow[next]) slowCalls--;
+        } else {
+            recorded++;
+        }
+        failed[next] = failure;
+        slow[next] = isSlow;
+        if (failure) failures++;
+        if (isSlow) slowCalls++;
+        next = (next + 1) % windowSize;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+        Arrays.fill(failed, false);
+        Arrays.fill(slow, false);
+    }
+}
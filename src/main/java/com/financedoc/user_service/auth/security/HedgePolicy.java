@@ -0,0 +1,72 @@
+package com.financedoc.user_service.auth.security;
+
+import java.util.Arrays;
+
+/**
+ * 헤지 요청 정책 — 최근 성공 지연의 백분위수를 넘도록 응답이 없으면 같은 멱등 요청을 하나 더 보낸다.
+ * - 지연 표본은 최근 SAMPLES 건 링 버퍼, 백분위수는 RECOMPUTE_EVERY 건마다 다시 계산해 둔다
+ * - 표본이 MIN_SAMPLES 미만이면 헤지하지 않는다(기준이 없음)
+ * - 예산: 요청마다 budget-percent 만큼 토큰이 쌓이고 헤지 한 번에 100 을 쓴다 → 헤지는 요청의 budget-percent% 이하
+ *   (장애 시 헤지가 부하를 두 배로 키우지 않게 한다)
+ */
+final class HedgePolicy {
+
+    private static final int SAMPLES = 256;
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final int HEDGE_COST = 100;
+    private static final int MAX_TOKENS = HEDGE_COST * 10;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final int budgetPercent;
+
+    private final long[] samples = new long[SAMPLES];
+    private int next;
+    private int filled;
+    private int sinceRecompute;
+    private long delayNanos = -1;
+    private int tokens;
+
+    HedgePolicy(double percentile, long minDelayMs, int budgetPercent) {
+        this.percentile = percentile;
+        this.minDelayNanos = minDelayMs * 1_000_000;
+        this.budgetPercent = budgetPercent;
+    }
+
+    /** 성공한 요청의 지연 */
+    synchronized void record(long elapsedNanos) {
+        samples[next] = elapsedNanos;
+        next = (next + 1) % SAMPLES;
+        if (filled < SAMPLES) filled++;
+        if (++sinceRecompute >= RECOMPUTE_EVERY || delayNanos < 0 && filled >= MIN_SAMPLES) {
+            sinceRecompute = 0;
+            recompute();
+        }
+    }
+
+    /** 요청 시작 — 예산을 적립하고 헤지 지연(ns)을 돌려준다. 헤지하지 않으면 -1 */
+    synchronized long onRequest() {
+        tokens = Math.min(MAX_TOKENS, tokens + budgetPercent);
+        return delayNanos;
+    }
+
+    /** 헤지 지연이 지났을 때 — 예산이 있으면 소모하고 true */
+    synchronized boolean tryHedge() {
+        if (tokens < HEDGE_COST) return false;
+        tokens -= HEDGE_COST;
+        return true;
+    }
+
+    synchronized long delayMs() {
+        return delayNanos < 0 ? -1 : delayNanos / 1_000_000;
+    }
+
+    private void recompute() {
+        if (filled < MIN_SAMPLES) return;
+        long[] sorted = Arrays.copyOf(samples, filled);
+        Arrays.sort(sorted);
+        int idx = (int) Math.min(filled - 1, Math.ceil(percentile / 100 * filled) - 1);
+        delayNanos = Math.max(minDelayNanos, sorted[Math.max(0, idx)]);
+    }
+}
@@ -2,70 +2,180 @@ package com.financedoc.user_service.auth.security;
 
 import com.financedoc.user_service.auth.dto.response.KakaoTokenResponse;
 import com.financedoc.user_service.auth.dto.response.KakaoUserInfoResponse;
+import com.financedoc.user_service.auth.timing.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClient;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 카카오 OAuth/API 호출 전용 클라이언트 — 로그인 경로는 모두 이 클래스를 거친다.
+ * 커넥션 풀(keep-alive)과 connect/read 타임아웃을 명시해, 카카오 지연이 워커 스레드를 무기한 붙잡지 않게 한다.
+ * 엔드포인트별 지연은 kakao.client.requests 타이머(endpoint, outcome 태그)로 기록하고,
+ * 요청 스레드에서 구독됐다면 RequestTiming 구간 kakao_token / kakao_user_info 로도 남긴다.
+ * 모든 호출은 KakaoResilience(서킷 브레이커 + 적응형 동시 호출 상한, user_info 헤지)를 거친다 —
+ * 카카오 장애 중에는 타임아웃을 기다리지 않고 503 + Retry-After 로 바로 실패한다.
+ */
+@Slf4j
 @Component
 public class KakaoAuthClient {
 
-    private final RestClient rest = RestClient.builder().build();
-
-    @Value("${kakao.client-id}")
-    private String clientId;
-
-    @Value("${kakao.client-secret:}")
-    private String clientSecret; // 선택
-
-    @Value("${kakao.redirect-uri}")
-    private String defaultRedirectUri; // 미제공 시 빈 문자열 가능
-
-    public KakaoTokenResponse exchangeCodeForToken(String code, String redirectUri) {
-        String uri = "https://kauth.kakao.com/oauth/token";
-        String body = form(
-                "grant_type", "authorization_code",
-                "client_id", clientId,
-                // redirectUri가 null이면 기본값 사용
-                "redirect_uri", redirectUri != null ? redirectUri : defaultRedirectUri,
-                "code", code,
-                // client_secret이 비어있으면 포함하지 않음
-                clientSecret == null || clientSecret.isBlank() ? null : "client_secret",
-                clientSecret == null || clientSecret.isBlank() ? null : clientSecret
-        );
-
-        return rest.post()
-                .uri(uri)
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .body(body)
+    private final WebClient kauth;
+    private final WebClient kapi;
+    private final Endpoint tokenEndpoint;
+    private final Endpoint userInfoEndpoint;
+    private final KakaoResilience resilience;
+
+    private final String clientId;
+    private final String clientSecret;        // 선택 — 비어 있으면 전송하지 않음
+    private final String defaultRedirectUri;  // 미제공 시 빈 문자열 가능
+
+    public KakaoAuthClient(
+            @Value("${kakao.client-id}") String clientId,
+            @Value("${kakao.client-secret:}") String clientSecret,
+            @Value("${kakao.redirect-uri}") String defaultRedirectUri,
+            @Value("${kakao.auth-base-url:https://kauth.kakao.com}") String authBaseUrl,
+            @Value("${kakao.api-base-url:https://kapi.kakao.com}") String apiBaseUrl,
+            @Value("${kakao.http.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${kakao.http.read-timeout-ms:3000}") long readTimeoutMs,
+            @Value("${kakao.http.max-connections:200}") int maxConnections,
+            MeterRegistry meters,
+            KakaoResilience resilience
+    ) {
+        this.resilience = resilience;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.defaultRedirectUri = defaultRedirectUri;
+        this.tokenEndpoint = new Endpoint("token", "kakao_token", meters);
+        this.userInfoEndpoint = new Endpoint("user_info", "kakao_user_info", meters);
+
+        ConnectionProvider pool = ConnectionProvider.builder("kakao")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(connectTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+        HttpClient http = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                .keepAlive(true);
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(http);
+
+        this.kauth = WebClient.builder().baseUrl(authBaseUrl).clientConnector(connector).build();
+        this.kapi = WebClient.builder().baseUrl(apiBaseUrl).clientConnector(connector).build();
+    }
+
+    /** 인가 코드 → 카카오 access token. redirectUri 가 null 이면 kakao.redirect-uri 사용 */
+    public Mono<KakaoTokenResponse> exchangeCodeForToken(String code, String redirectUri) {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "authorization_code");
+        form.add("client_id", clientId);
+        form.add("redirect_uri", redirectUri != null ? redirectUri : defaultRedirectUri);
+        form.add("code", code);
+        if (StringUtils.hasText(clientSecret)) {
+            form.add("client_secret", clientSecret);
+        }
+
+        return resilience.token(() -> timed(tokenEndpoint, kauth.post()
+                .uri("/oauth/token")
+                .body(BodyInserters.fromFormData(form))
                 .retrieve()
-                .body(KakaoTokenResponse.class);
+                .onStatus(HttpStatusCode::isError, resp -> resp.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> rejected("token", resp.statusCode(), body)))
+                .bodyToMono(KakaoTokenResponse.class)));
     }
 
-    public KakaoUserInfoResponse getUserInfo(String kakaoAccessToken) {
-        return rest.get()
-                .uri("https://kapi.kakao.com/v2/user/me")
-                .header("Authorization", "Bearer " + kakaoAccessToken)
+    public Mono<KakaoUserInfoResponse> getUserInfo(String kakaoAccessToken) {
+        return resilience.userInfo(() -> timed(userInfoEndpoint, kapi.get()
+                .uri("/v2/user/me")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + kakaoAccessToken)
                 .retrieve()
-                .body(KakaoUserInfoResponse.class);
+                .onStatus(HttpStatusCode::isError, resp -> resp.bodyToMono(String.class)
+                        .defaultIfEmpty("")
+                        .map(body -> rejected("user_info", resp.statusCode(), body)))
+                .bodyToMono(KakaoUserInfoResponse.class)));
     }
 
-    private static String form(String... kvs) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < kvs.length; i += 2) {
-            String k = kvs[i];
-            String v = (i + 1 < kvs.length) ? kvs[i + 1] : null;
-            if (k == null || v == null) continue;
-            if (!sb.isEmpty()) sb.append('&');
-            sb.append(encode(k)).append('=').append(encode(v));
+    private <T> Mono<T> timed(Endpoint endpoint, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            RequestTiming timing = RequestTiming.current(); // 구독(=block 호출) 스레드의 요청
+            return call
+                    .onErrorMap(WebClientRequestException.class, e -> unreachable(endpoint.name, e))
+                    // 종료 신호가 호출자에게 전달되기 전에 기록 — block() 이 돌아온 뒤 기록기가 닫히지 않도록
+                    .doOnTerminate(() -> {
+                        if (timing != null) timing.add(endpoint.span, System.nanoTime() - start);
+                    })
+                    .doFinally(signal -> endpoint.timer(signal).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /** 엔드포인트별 kakao.client.requests{endpoint, outcome} 타이머 — 생성 시 한 번만 등록 */
+    private static final class Endpoint {
+        private final String name;
+        private final String span;
+        private final Timer success;
+        private final Timer error;
+        private final Timer cancel;
+
+        Endpoint(String name, String span, MeterRegistry meters) {
+            this.name = name;
+            this.span = span;
+            this.success = timer(meters, name, "success");
+            this.error = timer(meters, name, "error");
+            this.cancel = timer(meters, name, "cancel");
+        }
+
+        Timer timer(SignalType signal) {
+            return signal == SignalType.ON_COMPLETE ? success
+                    : signal == SignalType.ON_ERROR ? error : cancel;
         }
-        return sb.toString();
+
+        private static Timer timer(MeterRegistry meters, String endpoint, String outcome) {
+            return Timer.builder("kakao.client.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meters);
+        }
+    }
+
+    private static ResponseStatusException rejected(String endpoint, HttpStatusCode status, String body) {
+        log.warn("[Kakao] {} {} : {}", endpoint, status.value(), body);
+        return status.is4xxClientError()
+                ? new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Kakao rejected " + endpoint)
+                : new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Kakao " + endpoint + " failed");
     }
 
-    private static String encode(String s) {
-        return URLEncoder.encode(s, StandardCharsets.UTF_8);
+    private static ResponseStatusException unreachable(String endpoint, WebClientRequestException e) {
+        boolean timedOut = e.getCause() instanceof ReadTimeoutException
+                || e.getCause() instanceof ConnectTimeoutException;
+        log.warn("[Kakao] {} {}: {}", endpoint, timedOut ? "timed out" : "unreachable", e.getMessage());
+        return new ResponseStatusException(
+                timedOut ? HttpStatus.GATEWAY_TIMEOUT : HttpStatus.BAD_GATEWAY,
+                "Kakao " + endpoint + (timedOut ? " timed out" : " unreachable"), e);
     }
 }
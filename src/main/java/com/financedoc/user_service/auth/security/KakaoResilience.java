@@ -0,0 +1,202 @@
+package com.financedoc.user_service.auth.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * 카카오 호출 보호막 — 엔드포인트(token, user_info)마다 서킷 브레이커 + 적응형 동시 호출 상한.
+ * - 서킷이 열렸거나 상한이 찼으면 카카오로 보내지 않고 즉시 503 + Retry-After (KakaoUnavailableException)
+ *   → 카카오가 느려져도 요청 스레드가 타임아웃까지 붙잡혀 있지 않고 /auth/me, /auth/refresh 가 살아 있다
+ * - 실패로 세는 것은 5xx/타임아웃/연결 실패뿐 — 401(잘못된 토큰/코드)은 카카오가 정상 응답한 것
+ *   (서킷에는 성공, 동시 호출 상한에는 무시 — 빠른 4xx 가 최소 지연 기준선이 되면 정상 응답이 지연으로 보인다)
+ * - 멱등 GET /v2/user/me 는 kakao.resilience.hedge.enabled 일 때 최근 성공 지연의 백분위수를 넘으면 같은 요청을
+ *   한 번 더 보내 먼저 성공한 쪽을 쓴다(예산: 요청의 budget-percent% 이하, 상한/서킷도 그대로 적용)
+ * 지표: kakao.circuit.state{endpoint} (0 closed, 1 open, 2 half-open), kakao.calls.rejected{endpoint, reason},
+ *      kakao.concurrency.limit / kakao.concurrency.in-flight {endpoint}, kakao.hedge.requests / kakao.hedge.delay {endpoint}
+ */
+@Slf4j
+@Component
+public class KakaoResilience {
+
+    private final Guard token;
+    private final Guard userInfo;
+    private final HedgePolicy userInfoHedge;   // 비활성화 시 null
+    private final Counter hedges;
+
+    public KakaoResilience(
+            @Value("${kakao.resilience.breaker.window-size:50}") int windowSize,
+            @Value("${kakao.resilience.breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${kakao.resilience.breaker.failure-rate-percent:50}") int failureRatePercent,
+            @Value("${kakao.resilience.breaker.slow-call-ms:1500}") long slowCallMs,
+            @Value("${kakao.resilience.breaker.slow-call-rate-percent:80}") int slowCallRatePercent,
+            @Value("${kakao.resilience.breaker.open-ms:10000}") long openMs,
+            @Value("${kakao.resilience.breaker.half-open-calls:3}") int halfOpenCalls,
+            @Value("${kakao.resilience.limit.initial:50}") int initialLimit,
+            @Value("${kakao.resilience.limit.min:4}") int minLimit,
+            @Value("${kakao.resilience.limit.max:${kakao.http.max-connections:200}}") int maxLimit,
+            @Value("${kakao.resilience.limit.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${kakao.resilience.limit.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${kakao.resilience.hedge.enabled:false}") boolean hedgeEnabled,
+            @Value("${kakao.resilience.hedge.percentile:95}") double hedgePercentile,
+            @Value("${kakao.resilience.hedge.min-delay-ms:30}") long hedgeMinDelayMs,
+            @Value("${kakao.resilience.hedge.budget-percent:10}") int hedgeBudgetPercent,
+            MeterRegistry meters
+    ) {
+        Supplier<CircuitBreaker> breaker = () -> new CircuitBreaker(windowSize, minimumCalls, failureRatePercent,
+                slowCallRatePercent, slowCallMs, openMs, halfOpenCalls);
+        Supplier<AdaptiveConcurrencyLimit> limit = () -> new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit,
+                backoffRatio, latencyTolerance);
+        this.userInfoHedge = hedgeEnabled ? new HedgePolicy(hedgePercentile, hedgeMinDelayMs, hedgeBudgetPercent) : null;
+        this.token = new Guard("token", breaker.get(), limit.get(), null, meters);
+        this.userInfo = new Guard("user_info", breaker.get(), limit.get(), userInfoHedge, meters);
+        this.hedges = Counter.builder("kakao.hedge.requests").tag("endpoint", "user_info")
+                .description("Hedged duplicate requests sent").register(meters);
+        if (userInfoHedge != null) {
+            Gauge.builder("kakao.hedge.delay", userInfoHedge, HedgePolicy::delayMs)
+                    .tag("endpoint", "user_info").baseUnit("milliseconds").register(meters);
+        }
+    }
+
+    /** 기본값(헤지 없음) — 벤치마크/테스트용 */
+    public static KakaoResilience defaults(MeterRegistry meters) {
+        return new KakaoResilience(50, 20, 50, 1500, 80, 10_000, 3, 50, 4, 200, 0.9, 2.0,
+                false, 95, 30, 10, meters);
+    }
+
+    /** POST /oauth/token — 인가 코드는 1회용이라 헤지하지 않는다 */
+    public <T> Mono<T> token(Supplier<Mono<T>> call) {
+        return token.call(call);
+    }
+
+    /** GET /v2/user/me — 멱등, 헤지 가능 */
+    public <T> Mono<T> userInfo(Supplier<Mono<T>> call) {
+        if (userInfoHedge == null) return userInfo.call(call);
+        return Mono.defer(() -> {
+            long delayNanos = userInfoHedge.onRequest();
+            Mono<T> primary = userInfo.call(call);
+            if (delayNanos < 0) return primary;
+            // 헤지 쪽 실패(거절 포함)는 무시 — 결과는 원 요청이 정하고, 헤지는 먼저 성공할 때만 이긴다
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                    .then(Mono.defer(() -> {
+                        if (!userInfoHedge.tryHedge()) return Mono.<T>never();
+                        hedges.increment();
+                        return userInfo.call(call).onErrorResume(e -> Mono.never());
+                    }));
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    CircuitBreaker.State state(String endpoint) {
+        return guard(endpoint).breaker.state();
+    }
+
+    int limit(String endpoint) {
+        return guard(endpoint).limit.limit();
+    }
+
+    private Guard guard(String endpoint) {
+        return "token".equals(endpoint) ? token : userInfo;
+    }
+
+    /** 엔드포인트 하나의 서킷 + 상한 + 지표 */
+    private static final class Guard {
+        private final String endpoint;
+        private final CircuitBreaker breaker;
+        private final AdaptiveConcurrencyLimit limit;
+        private final HedgePolicy latencies;   // 헤지 지연 계산용 표본 (없으면 null)
+        private final Counter rejectedOpen;
+        private final Counter rejectedLimit;
+
+        Guard(String endpoint, CircuitBreaker breaker, AdaptiveConcurrencyLimit limit, HedgePolicy latencies,
+              MeterRegistry meters) {
+            this.endpoint = endpoint;
+            this.breaker = breaker;
+            this.limit = limit;
+            this.latencies = latencies;
+            this.rejectedOpen = rejected(meters, endpoint, "circuit_open");
+            this.rejectedLimit = rejected(meters, endpoint, "limit");
+            Gauge.builder("kakao.circuit.state", breaker, b -> b.state().ordinal())
+                    .tag("endpoint", endpoint).register(meters);
+            Gauge.builder("kakao.concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+                    .tag("endpoint", endpoint).register(meters);
+            Gauge.builder("kakao.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::inFlight)
+                    .tag("endpoint", endpoint).register(meters);
+        }
+
+        <T> Mono<T> call(Supplier<Mono<T>> call) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                if (!breaker.tryAcquire(start)) {
+                    rejectedOpen.increment();
+                    return Mono.error(new KakaoUnavailableException(
+                            "Kakao " + endpoint + " circuit open", breaker.retryAfterMs(start)));
+                }
+                if (!limit.tryAcquire()) {
+                    breaker.onIgnored();
+                    rejectedLimit.increment();
+                    return Mono.error(new KakaoUnavailableException("Kakao " + endpoint + " concurrency limit", 1_000));
+                }
+                // 결과는 신호가 호출자에게 가기 전에 기록 — doFinally 는 block() 이 돌아온 뒤에 돌 수 있다
+                AtomicBoolean done = new AtomicBoolean();
+                return call.get()
+                        .doOnSuccess(v -> finish(done, Result.SUCCESS, start))
+                        .doOnError(e -> finish(done, failure(e) ? Result.FAILURE : Result.CLIENT_ERROR, start))
+                        .doOnCancel(() -> finish(done, Result.CANCELLED, start));
+            });
+        }
+
+        /** 호출당 한 번 — 헤지 패배의 취소가 종료 신호와 겹쳐도 먼저 온 쪽만 */
+        private void finish(AtomicBoolean done, Result result, long start) {
+            if (!done.compareAndSet(false, true)) return;
+            long now = System.nanoTime();
+            long elapsed = now - start;
+            limit.release(elapsed, result.limitOutcome);
+            if (result == Result.CANCELLED) {
+                breaker.onIgnored();   // 취소(헤지 패배 등)
+                return;
+            }
+            CircuitBreaker.State before = breaker.state();
+            breaker.onResult(now, elapsed, result == Result.FAILURE);
+            CircuitBreaker.State after = breaker.state();
+            if (before != after) {
+                log.warn("[Kakao] {} circuit {} -> {}", endpoint, before, after);
+            }
+            if (latencies != null && result == Result.SUCCESS) latencies.record(elapsed);
+        }
+
+        /** 카카오 쪽 문제(5xx, 타임아웃, 연결 실패, 응답 해석 실패)만 실패로 — 4xx 는 정상 동작 */
+        private static boolean failure(Throwable e) {
+            return !(e instanceof ResponseStatusException rse) || rse.getStatusCode().is5xxServerError();
+        }
+
+        private static Counter rejected(MeterRegistry meters, String endpoint, String reason) {
+            return Counter.builder("kakao.calls.rejected")
+                    .description("Kakao calls failed fast without being sent")
+                    .tag("endpoint", endpoint).tag("reason", reason).register(meters);
+        }
+    }
+
+    /** 호출 결과 → 동시 호출 상한에 넘길 신호. 4xx 는 지연 표본으로 쓰지 않는다(카카오가 일을 덜 하고 빨리 끝낸 응답) */
+    private enum Result {
+        SUCCESS(AdaptiveConcurrencyLimit.Outcome.SUCCESS),
+        CLIENT_ERROR(AdaptiveConcurrencyLimit.Outcome.IGNORED),
+        FAILURE(AdaptiveConcurrencyLimit.Outcome.DROPPED),
+        CANCELLED(AdaptiveConcurrencyLimit.Outcome.IGNORED);
+
+        final AdaptiveConcurrencyLimit.Outcome limitOutcome;
+
+        Result(AdaptiveConcurrencyLimit.Outcome limitOutcome) {
+            this.limitOutcome = limitOutcome;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.financedoc.user_service.auth.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** 카카오 호출을 보내지 않고 거절(서킷 열림/동시 호출 상한) — 503 + Retry-After(초) */
+public class KakaoUnavailableException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public KakaoUnavailableException(String reason, long retryAfterMs) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+        this.retryAfterSeconds = Math.max(1, (retryAfterMs + 999) / 1000);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
+}
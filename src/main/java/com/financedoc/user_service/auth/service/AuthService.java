@@ -1,97 +1,135 @@
 package com.financedoc.user_service.auth.service;
 
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.financedoc.user_service.auth.security.KakaoAuthClient;
 import com.financedoc.user_service.auth.dto.request.KakaoAuthRequest;
 import com.financedoc.user_service.auth.dto.response.*;
 import com.financedoc.user_service.auth.dto.response.KakaoUserInfoResponse.KakaoAccount;
 import com.financedoc.user_service.auth.dto.response.KakaoUserInfoResponse.KakaoAccount.Profile;
 import com.financedoc.user_service.auth.entity.User;
+import com.financedoc.user_service.auth.repository.UserProfileView;
 import com.financedoc.user_service.auth.repository.UserRepository;
+import com.financedoc.user_service.auth.repository.UserUpsertRepository;
+import com.financedoc.user_service.auth.service.LoginMetrics.Stage;
+import com.financedoc.user_service.auth.timing.RequestTiming;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-import java.util.Objects;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final KakaoAuthClient kakao;
+    private final KakaoUserInfoCache kakaoUsers; // 카카오 토큰 → 유저 정보 단기 캐시
     private final UserRepository users;
     private final TokenService tokens;          // HS256 발급/검증
     private final RefreshTokenStore refresh;    // jti 화이트리스트
+    private final UserProfileCache profiles;    // /me 응답 캐시
+    private final LoginLimits limits;           // 카카오/DB 동시 사용 상한
+    private final TransactionTemplate tx;
+    private final LoginMetrics metrics;         // 단계별 타이머 auth.login.stage
+    private final TokenEpochs epochs;           // 사용자 단위 not-before (전체 폐기)
+
+    /** 동시 중복 로그인 합치기: 인가 코드별 카카오 교환, kakaoId 별 upsert */
+    private final SingleFlight<String, KakaoUserInfoResponse> codeFlights = new SingleFlight<>();
+    private final SingleFlight<Long, AuthTokensResponse.UserSummary> upsertFlights = new SingleFlight<>();
+
+    /**
+     * 회전 결과를 이전 jti 기준으로 잠시 보관 — 같은 refresh 토큰의 동시/재시도 요청은 같은 토큰 쌍을 받는다.
+     * 파드 안에서만 유효 — 다른 레플리카의 요청은 저장소의 회전 기록(refresh-store.jdbc.rotation-grace-ms)으로 맞춘다
+     */
+    private static final Duration ROTATION_GRACE = Duration.ofSeconds(30);
+    private final Cache<String, CompletableFuture<TokenPairResponse>> rotations = Caffeine.newBuilder()
+            .expireAfterWrite(ROTATION_GRACE)
+            .maximumSize(100_000)
+            .build();
 
     // === 로그인 (오버로드) ===
-    @Transactional
     public AuthTokensResponse kakaoLogin(KakaoAuthRequest req) {
         return kakaoLogin(req, null); // redirectUri 미지정 시 client 기본값 사용
     }
 
-    @Transactional
+    // 카카오 왕복은 트랜잭션 밖에서 수행 — DB 커넥션은 upsert/발급 구간에서만 잡는다
     public AuthTokensResponse kakaoLogin(KakaoAuthRequest req, String redirectUriMaybeNull) {
-        // 1) 카카오 access token 확보
-        String kakaoAccessToken = null;
+        // 1) 카카오 access token 확보 → 2) 카카오 유저 조회 (타임아웃은 KakaoAuthClient 가 보장)
+        KakaoUserInfoResponse info;
         if (StringUtils.hasText(req.getKakaoAccessToken())) {
-            kakaoAccessToken = req.getKakaoAccessToken();
+            // 앱이 콜드 스타트/재시도마다 같은 카카오 토큰을 보낸다 — 단기 캐시 경유(동시 요청은 조회 하나를 공유)
+            // 허가는 실제로 카카오를 부르는 loader 안에서만 — 카카오가 느려 허가가 바닥나도 캐시 적중은 기다리지 않는다
+            String kakaoAccessToken = req.getKakaoAccessToken();
+            info = metrics.time(Stage.USER_INFO, () -> kakaoUsers.get(kakaoAccessToken,
+                    t -> Mono.fromCallable(() -> limits.withKakaoPermit(() -> kakao.getUserInfo(t).block()))).block());
         } else if (StringUtils.hasText(req.getCode())) {
-            KakaoTokenResponse token = kakao.exchangeCodeForToken(req.getCode(), redirectUriMaybeNull);
-            kakaoAccessToken = token.getAccessToken();
+            // 인가 코드는 1회용 — 더블탭으로 같은 코드가 동시에 오면 교환은 한 번만
+            String code = req.getCode();
+            info = codeFlights.run(code, () -> limits.withKakaoPermit(() -> {
+                KakaoTokenResponse token = metrics.time(Stage.CODE_EXCHANGE,
+                        () -> kakao.exchangeCodeForToken(code, redirectUriMaybeNull).block());
+                if (token == null) return null;
+                return metrics.time(Stage.USER_INFO, () -> kakao.getUserInfo(token.getAccessToken()).block());
+            }));
         } else {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Either 'code' or 'kakaoAccessToken' is required");
         }
 
-        // 2) 카카오 유저 조회
-        KakaoUserInfoResponse info = kakao.getUserInfo(kakaoAccessToken);
         if (info == null || info.getId() == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Failed to fetch Kakao user");
         }
 
-        // 3) upsert(주의: userId NOT NULL 제약)
+        // 같은 카카오 회원의 동시 로그인은 upsert 를 공유하고, 토큰 쌍은 호출마다 따로 발급
+        AuthTokensResponse.UserSummary user = upsertFlights.run(info.getId(), () ->
+                limits.withDbPermit(() -> metrics.time(Stage.UPSERT, () -> {
+                    try {
+                        return tx.execute(status -> upsertUser(info));
+                    } catch (DuplicateKeyException e) {
+                        // 생성한 user_id 가 기존 값과 충돌한 경우 — 새 id 로 한 번만 재시도
+                        return tx.execute(status -> upsertUser(info));
+                    }
+                })));
+        return issueTokens(user);
+    }
+
+    private AuthTokensResponse.UserSummary upsertUser(KakaoUserInfoResponse info) {
+        // 3) upsert — kakao_id 기준 한 문장, 바뀐 값이 없으면 쓰지 않음
         String nickname = extractNickname(info);
         String profile = extractProfileImage(info);
         String email = Optional.ofNullable(info.getKakaoAccount()).map(KakaoAccount::getEmail).orElse(null);
 
-        User user = users.findByKakaoId(info.getId())
-                .map(u -> {
-                    boolean changed = false;
-                    if (nickname != null && !nickname.equals(u.getNickname())) { u.setNickname(nickname); changed = true; }
-                    if (profile != null && !Objects.equals(profile, u.getProfileImageUrl())) { u.setProfileImageUrl(profile); changed = true; }
-                    if (email != null && !Objects.equals(email, u.getEmail())) { u.setEmail(email); changed = true; }
-                    if (changed) u.setUpdatedAt(Instant.now());
-                    return changed ? users.save(u) : u;
-                })
-                .orElseGet(() -> users.save(
-                        User.builder()
-                                .kakaoId(info.getId())
-                                .userId(generateUserId())   // ★ NOT NULL/UNIQUE
-                                .email(email)
-                                .nickname(nickname)
-                                .profileImageUrl(profile)
-                                .createdAt(Instant.now())
-                                .updatedAt(Instant.now())
-                                .build()
-                ));
+        UserUpsertRepository.UpsertedUser user = users.upsertFromKakao(
+                info.getId(), User.generateUserId(), email, nickname, profile);   // userId 는 신규 INSERT 시에만 사용
+        profiles.invalidateAfterCommit(user.id());
+        return new AuthTokensResponse.UserSummary(user.id(), user.nickname(), user.profileImageUrl());
+    }
 
+    private AuthTokensResponse issueTokens(AuthTokensResponse.UserSummary user) {
         // 4) 토큰 발급 + 리프레시 저장
+        long mintStart = System.nanoTime();
         String access = tokens.createAccessToken(user.getId());
         String jti = UUID.randomUUID().toString();
         String refreshToken = tokens.createRefreshToken(user.getId(), jti);
-        refresh.save(user.getId(), jti, Instant.now().plus(14, ChronoUnit.DAYS));
+        metrics.record(Stage.TOKEN_MINT, mintStart);
+        metrics.time(Stage.REFRESH_SAVE,
+                () -> refresh.save(user.getId(), jti, Instant.now().plus(tokens.refreshTokenTtl())));
 
-        return new AuthTokensResponse(
-                access,
-                refreshToken,
-                new AuthTokensResponse.UserSummary(user.getId(), user.getNickname(), user.getProfileImageUrl())
-        );
+        return new AuthTokensResponse(access, refreshToken, user);
     }
 
     // === 액세스 토큰 재발급(검증 + sub 일치) ===
@@ -103,12 +141,106 @@ public class AuthService {
         }
         long sub = parseUserId(jwt);    // refresh token 안의 sub에서 userId 추출
         String jti = jwt.getId();       // refresh token 고유 ID 추출
-        if (!refresh.exists(sub, jti)) {
+        if (epochs.isRevoked(sub, jwt.getIssuedAtAsInstant())) {   // 전체 폐기 이전 발급 — 맵 조회 한 번
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh invalidated");
+        }
+        long lookupStart = System.nanoTime();
+        boolean live = refresh.exists(sub, jti);
+        RequestTiming.record("refresh_store", lookupStart);
+        if (!live) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh invalidated");
         }
         return tokens.createAccessToken(sub);
     }
 
+    // === 리프레시 토큰 회전(새 access + refresh 발급, 이전 jti 폐기) ===
+    // 첫 호출만 저장소 CAS(rotate)를 수행하고, 그 사이 들어온 같은 토큰 요청은 결과 future 를 기다린다.
+    // 다른 레플리카가 먼저 회전했으면 저장소의 회전 기록(유예 안)에서 같은 후속 jti 로 응답한다.
+    // 회전 기록의 유예가 지난 jti 가 다시 오면 탈취로 보고 해당 사용자의 refresh 를 모두 폐기한다.
+    // 트랜잭션 없이 실행(NEVER) — CAS 와 폐기는 각자 바로 커밋되므로 401 로 되돌려지지 않고,
+    // future 는 CAS 가 커밋된 뒤에만 완료된다. 재사용 폐기(epochs)도 커넥션 하나로 끝난다.
+    @Transactional(propagation = Propagation.NEVER)
+    public TokenPairResponse rotateRefreshToken(String refreshToken) {
+        DecodedJWT jwt = tokens.verify(refreshToken);
+        if (!"refresh".equals(jwt.getClaim("typ").asString())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not a refresh token");
+        }
+        long sub = parseUserId(jwt);
+        String oldJti = jwt.getId();
+        if (epochs.isRevoked(sub, jwt.getIssuedAtAsInstant())) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh invalidated");
+        }
+
+        CompletableFuture<TokenPairResponse> mine = new CompletableFuture<>();
+        CompletableFuture<TokenPairResponse> inflight = rotations.asMap().putIfAbsent(oldJti, mine);
+        if (inflight != null) {
+            return awaitRotation(inflight);
+        }
+        try {
+            String newJti = UUID.randomUUID().toString();
+            Instant expiresAt = Instant.now().plus(tokens.refreshTokenTtl());
+            if (!rotate(sub, oldJti, newJti, expiresAt)) {
+                newJti = successorAfterMiss(sub, oldJti, newJti, expiresAt, jwt.getIssuedAtAsInstant());
+                if (newJti == null) {
+                    // 저장 유실/지연과 재사용을 구분할 수 없다 — 폐기 없이 거절하고, 결과도 붙잡아 두지 않는다
+                    rotations.asMap().remove(oldJti, mine);
+                    throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh invalidated");
+                }
+            }
+            TokenPairResponse pair = new TokenPairResponse(
+                    tokens.createAccessToken(sub),
+                    tokens.createRefreshToken(sub, newJti));
+            mine.complete(pair);
+            return pair;
+        } catch (ResponseStatusException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } catch (Throwable e) {
+            // 일시적 장애(Error 포함)는 유예 기간 동안 붙잡아 두지 않는다 — 기다리던 요청도 같은 예외로 풀려난다
+            rotations.asMap().remove(oldJti, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private boolean rotate(long sub, String oldJti, String newJti, Instant expiresAt) {
+        long rotateStart = System.nanoTime();
+        boolean rotated = refresh.rotate(sub, oldJti, newJti, expiresAt);
+        RequestTiming.record("refresh_store", rotateStart);
+        return rotated;
+    }
+
+    /**
+     * CAS 가 빗나간 jti — 회전 기록이 유예 안이면 그 후속 jti, 유예 밖이면 재사용(전체 폐기 후 401).
+     * 기록이 없으면 다른 레플리카 버퍼에 아직 있거나(flush 지연/실패) 폐기된 jti 라 재사용으로 단정하지 않고 null.
+     * 단, 반영 지연이 없는 저장소(memory)는 기록을 남기지 않으므로 없으면 곧 이미 회전/폐기된 jti 다.
+     */
+    private String successorAfterMiss(long sub, String oldJti, String newJti, Instant expiresAt, Instant issuedAt) {
+        RefreshTokenStore.Rotation prior = refresh.findRotation(sub, oldJti);
+        if (prior == null && mayNotBeVisibleYet(issuedAt)) {
+            // 발급 직후 토큰은 다른 레플리카의 쓰기 버퍼에 아직 있을 수 있다 — 반영 주기만큼 기다린 뒤 한 번 더
+            sleep(refresh.visibilityLag());
+            if (rotate(sub, oldJti, newJti, expiresAt)) return newJti;
+            prior = refresh.findRotation(sub, oldJti);
+        }
+        if (prior != null && prior.inGrace(Instant.now())) {
+            return prior.successorJti();   // 다른 레플리카가 먼저 회전 — 같은 후속 jti 로 응답
+        }
+        if (prior != null || refresh.visibilityLag().isZero()) {
+            epochs.revokeAll(List.of(sub));   // 발급된 access 토큰까지
+            refresh.revokeAll(sub);
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token reuse detected");
+        }
+        return null;
+    }
+
+    /** iat 가 저장소 반영 지연 안쪽이면 true (iat 는 초 단위로 잘리므로 1초 여유) */
+    private boolean mayNotBeVisibleYet(Instant issuedAt) {
+        Duration lag = refresh.visibilityLag();
+        return !lag.isZero() && issuedAt != null
+                && issuedAt.plus(lag).plusSeconds(1).isAfter(Instant.now());
+    }
+
     // === 로그아웃(해당 refresh jti만 폐기) ===
     @Transactional
     public void logout(Long userIdFromHeader, String refreshToken) {
@@ -123,27 +255,52 @@ public class AuthService {
         refresh.revoke(sub, jwt.getId());
     }
 
+    // === 모든 기기 로그아웃(해당 사용자의 access/refresh 전체 폐기) ===
+    public void logoutAll(Long userId) {
+        epochs.revokeAll(List.of(userId));
+        refresh.revokeAll(userId);   // 저장소 공간 회수 — 검증은 epoch 만으로 충분
+    }
+
     // === 현재 사용자 조회 ===
-    @Transactional(readOnly = true)
+    // 트랜잭션 없음 — 캐시 적중 시 커넥션을 잡지 않는다. miss 때의 조회만 findProfileById 의 읽기 전용 트랜잭션
     public UserResponse getCurrentUser(Long userId) {
-        User u = users.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-        return new UserResponse(u.getId(), u.getNickname(), u.getProfileImageUrl());
+        return profiles.get(userId, id -> {
+            long start = System.nanoTime();
+            Optional<UserProfileView> found = users.findProfileById(id);
+            RequestTiming.record("db_profile", start);   // 캐시 miss 일 때만 남는다
+            UserProfileView u = found
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+            return new UserResponse(u.id(), u.nickname(), u.profileImageUrl());
+        });
     }
 
     // === 회원 탈퇴 ===
+    // 조건부 DELETE 한 번(+ 같은 트랜잭션의 user.deleted 아웃박스 기록) + 사용자 단위 refresh 폐기(O(1), jdbc 저장소는 같은 트랜잭션).
+    // 응답 시점에 이미 refresh 가 막혀 있어야 하므로 폐기는 동기 — 타 서비스 정리만 OutboxRelay 이후 비동기
     @Transactional
     public void deleteUser(Long userId) {
-        if (!users.existsById(userId)) {
+        if (users.deleteAndRecordEvent(userId) == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
         }
-        users.deleteById(userId);
         refresh.revokeAll(userId);
+        profiles.invalidateAfterCommit(userId);
     }
 
     // --- helpers ---
-    private static String generateUserId() {
-        return "U" + UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+    private static TokenPairResponse awaitRotation(CompletableFuture<TokenPairResponse> inflight) {
+        try { return inflight.join(); }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error err) throw err;
+            throw e;
+        }
+    }
+    private static void sleep(Duration d) {
+        try { Thread.sleep(d.toMillis()); }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted");
+        }
     }
     private static long parseUserId(DecodedJWT jwt) {
         try { return Long.parseLong(jwt.getSubject()); }
@@ -0,0 +1,208 @@
+package com.financedoc.user_service.auth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * HS256 access/refresh 토큰 전용 발급기 — auth0 JWTCreator 와 같은 클레임을 더 적은 할당으로 만든다.
+ * - 헤더 {"alg":"HS256","typ":"JWT"} 와 payload 의 iss 앞부분은 생성 시 한 번만 Base64url 인코딩해 둔다
+ *   (iss 앞부분은 JSON 공백으로 3바이트 배수를 맞춰, 뒤에 이어 붙인 인코딩 결과가 전체 인코딩과 같다)
+ * - sub/jti/iat/exp 는 재사용 버퍼에 바로 쓰고, 서명은 미리 초기화한 Mac 으로 같은 버퍼에 계산한다
+ * - 호출당 할당은 결과 String 하나. Mac/버퍼는 플랫폼 스레드는 ThreadLocal, 가상 스레드는 작은 풀에서 빌린다
+ * 결과는 TokenService.verify(auth0 JWTVerifier)로 그대로 검증된다.
+ */
+final class HmacTokenMinter {
+
+    private static final byte[] B64 =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEADER = b64("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.US_ASCII));
+
+    private static final byte[] SUB_END = "\",\"iat\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JTI = "\",\"jti\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TYP_REFRESH_IAT = "\",\"typ\":\"refresh\",\"iat\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EXP = ",\"exp\":".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int SIG_BYTES = 32;
+    private static final int MAX_JTI = 64;
+    /** sub/jti/iat/exp 부분의 최대 길이 (long 3개 + jti + 고정 조각) */
+    private static final int JSON_BYTES = 256;
+
+    private final SecretKeySpec key;
+    /** HEADER + '.' + b64({"iss":"...",<공백> "sub":") */
+    private final byte[] prefix;
+
+    private final ThreadLocal<Scratch> local = ThreadLocal.withInitial(this::newScratch);
+    private final ArrayBlockingQueue<Scratch> pool = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+
+    HmacTokenMinter(String secret, String issuer) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        byte[] iss;
+        try {
+            iss = new ObjectMapper().writeValueAsBytes(issuer);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] head = concat("{\"iss\":".getBytes(StandardCharsets.US_ASCII), iss, ",".getBytes(StandardCharsets.US_ASCII));
+        byte[] tail = "\"sub\":\"".getBytes(StandardCharsets.US_ASCII);
+        int pad = (3 - (head.length + tail.length) % 3) % 3;
+        byte[] json = concat(head, " ".repeat(pad).getBytes(StandardCharsets.US_ASCII), tail);
+        this.prefix = concat(HEADER, new byte[] { '.' }, b64(json));
+        newScratch(); // 키/알고리즘 오류는 기동 시점에
+    }
+
+    String access(long userId, long nowMs, long validityMs) {
+        Scratch s = acquire();
+        try {
+            int n = writeLong(s.json, 0, userId);
+            n = put(s.json, n, SUB_END);
+            return finish(s, n, nowMs, validityMs);
+        } finally {
+            release(s);
+        }
+    }
+
+    /** JSON 이스케이프 없이 그대로 쓸 수 있는 jti 인지 (UUID 등) — 아니면 호출자가 auth0 경로로 */
+    static boolean plainJti(String jti) {
+        if (jti == null || jti.isEmpty() || jti.length() > MAX_JTI) return false;
+        for (int i = 0; i < jti.length(); i++) {
+            char c = jti.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '-' || c == '_')) return false;
+        }
+        return true;
+    }
+
+    /** jti 는 plainJti 를 통과한 문자열 */
+    String refresh(long userId, String jti, long nowMs, long validityMs) {
+        Scratch s = acquire();
+        try {
+            int n = writeLong(s.json, 0, userId);
+            n = put(s.json, n, JTI);
+            for (int i = 0; i < jti.length(); i++) s.json[n++] = (byte) jti.charAt(i);
+            n = put(s.json, n, TYP_REFRESH_IAT);
+            return finish(s, n, nowMs, validityMs);
+        } finally {
+            release(s);
+        }
+    }
+
+    private String finish(Scratch s, int n, long nowMs, long validityMs) {
+        long iat = nowMs / 1000;
+        n = writeLong(s.json, n, iat);
+        n = put(s.json, n, EXP);
+        n = writeLong(s.json, n, (nowMs + validityMs) / 1000);
+        s.json[n++] = '}';
+
+        byte[] out = s.out;
+        int len = put(out, 0, prefix);
+        len = encode(s.json, 0, n, out, len);
+        try {
+            s.mac.update(out, 0, len);
+            s.mac.doFinal(s.sig, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        out[len++] = '.';
+        len = encode(s.sig, 0, SIG_BYTES, out, len);
+        return new String(out, 0, len, StandardCharsets.ISO_8859_1);
+    }
+
+    private Scratch acquire() {
+        if (!Thread.currentThread().isVirtual()) return local.get();
+        Scratch s = pool.poll();
+        return s != null ? s : newScratch();
+    }
+
+    private void release(Scratch s) {
+        if (Thread.currentThread().isVirtual()) pool.offer(s);
+    }
+
+    private Scratch newScratch() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return new Scratch(mac, prefix.length + encodedLength(JSON_BYTES) + 1 + encodedLength(SIG_BYTES));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static final class Scratch {
+        final Mac mac;
+        final byte[] json = new byte[JSON_BYTES];
+        final byte[] out;
+        final byte[] sig = new byte[SIG_BYTES];
+
+        Scratch(Mac mac, int outBytes) {
+            this.mac = mac;
+            this.out = new byte[outBytes];
+        }
+    }
+
+    // --- 인코딩 ---
+
+    /** Base64url(패딩 없음) — src[from, to) 를 dst[at..] 에 쓰고 끝 위치 반환 */
+    private static int encode(byte[] src, int from, int to, byte[] dst, int at) {
+        int i = from;
+        for (; i + 3 <= to; i += 3) {
+            int v = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[at++] = B64[v >>> 18];
+            dst[at++] = B64[(v >>> 12) & 0x3f];
+            dst[at++] = B64[(v >>> 6) & 0x3f];
+            dst[at++] = B64[v & 0x3f];
+        }
+        int rem = to - i;
+        if (rem == 1) {
+            int v = (src[i] & 0xff) << 16;
+            dst[at++] = B64[v >>> 18];
+            dst[at++] = B64[(v >>> 12) & 0x3f];
+        } else if (rem == 2) {
+            int v = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[at++] = B64[v >>> 18];
+            dst[at++] = B64[(v >>> 12) & 0x3f];
+            dst[at++] = B64[(v >>> 6) & 0x3f];
+        }
+        return at;
+    }
+
+    private static int encodedLength(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    /** 음수가 아닌 long 의 10진 표기 */
+    private static int writeLong(byte[] dst, int at, long v) {
+        if (v < 0) throw new IllegalArgumentException("negative claim value");
+        int digits = 1;
+        for (long t = v; t >= 10; t /= 10) digits++;
+        for (int i = at + digits - 1; i >= at; i--) {
+            dst[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        return at + digits;
+    }
+
+    private static int put(byte[] dst, int at, byte[] src) {
+        System.arraycopy(src, 0, dst, at, src.length);
+        return at + src.length;
+    }
+
+    private static byte[] b64(byte[] src) {
+        return Base64.getUrlEncoder().withoutPadding().encode(src);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int len = 0;
+        for (byte[] p : parts) len += p.length;
+        byte[] out = new byte[len];
+        int at = 0;
+        for (byte[] p : parts) at = put(out, at, p);
+        return out;
+    }
+}
@@ -1,41 +1,284 @@
 package com.financedoc.user_service.auth.service;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.Optional;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 단일 파드용 jti 화이트리스트.
+ * - 사용자별 세션은 long 배열(jti 상위/하위 64비트 + 만료 epoch millis)로 보관
+ * - 사용자당 세션 수 상한(max-sessions-per-user) 초과 시 가장 오래된 세션부터 제거
+ * - 만료 시각을 sweep 간격 단위 버킷으로 묶어 두고, 지난 버킷의 사용자만 정리(빈 사용자 엔트리도 회수)
+ * 지표: refresh.store.operations / refresh.store.entries / refresh.store.users / refresh.store.evicted {store=memory}
+ */
 @Component
+@ConditionalOnProperty(name = "refresh-store.type", havingValue = "memory", matchIfMissing = true)
 public class InMemoryRefreshTokenStore implements RefreshTokenStore {
-    private final Map<Long, Map<String, Instant>> mem = new ConcurrentHashMap<>();
+    private final Map<Long, Sessions> mem = new ConcurrentHashMap<>();
+    /** 만료 버킷(exp / bucketMs) → 그 버킷에 만료되는 세션을 가진 userId */
+    private final NavigableMap<Long, Set<Long>> expiryBuckets = new ConcurrentSkipListMap<>();
+
+    private final int maxSessionsPerUser;
+    private final long bucketMs;
+
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final RefreshStoreMeters ops;
+
+    public InMemoryRefreshTokenStore(
+            @Value("${refresh-store.memory.max-sessions-per-user:10}") int maxSessionsPerUser,
+            @Value("${refresh-store.memory.sweep-interval-ms:60000}") long bucketMs,
+            MeterRegistry meters
+    ) {
+        this(maxSessionsPerUser, bucketMs, new RefreshStoreMeters(meters, "memory"));
+        Gauge.builder("refresh.store.entries", entries, AtomicLong::get)
+                .tag("store", "memory").register(meters);
+        Gauge.builder("refresh.store.users", mem, Map::size)
+                .tag("store", "memory").register(meters);
+        FunctionCounter.builder("refresh.store.evicted", evicted, AtomicLong::get)
+                .tag("store", "memory").register(meters);
+    }
+
+    /** 게이지 없이 — 스냅샷마다 새 인스턴스로 바꿔 끼우는 ReplicatedRefreshTokenStore 가 게이지를 직접 건다 */
+    InMemoryRefreshTokenStore(int maxSessionsPerUser, long bucketMs, RefreshStoreMeters ops) {
+        if (maxSessionsPerUser < 1) {
+            throw new IllegalStateException("refresh-store.memory.max-sessions-per-user must be >= 1");
+        }
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.bucketMs = bucketMs;
+        this.ops = ops;
+    }
 
     @Override
     public void save(long userId, String jti, Instant expiresAt) {
-        mem.computeIfAbsent(userId, k -> new ConcurrentHashMap<>()).put(jti, expiresAt);
+        UUID u = UUID.fromString(jti);
+        long exp = expiresAt.toEpochMilli();
+        mem.compute(userId, (k, s) -> {
+            if (s == null) s = new Sessions();
+            s.add(u.getMostSignificantBits(), u.getLeastSignificantBits(), exp);
+            return s;
+        });
+        scheduleExpiry(userId, exp);
+        ops.saved();
     }
 
     @Override
     public boolean exists(long userId, String jti) {
-        Instant exp = Optional.ofNullable(mem.get(userId)).map(m -> m.get(jti)).orElse(null);
-        return exp != null && Instant.now().isBefore(exp);
+        Sessions s = mem.get(userId);
+        if (s == null) return ops.exists(false);
+        UUID u = parse(jti);
+        if (u == null) return ops.exists(false);
+        long exp = s.expiryOf(u.getMostSignificantBits(), u.getLeastSignificantBits());
+        return ops.exists(exp != 0 && System.currentTimeMillis() < exp);
     }
 
     @Override
-    public void rotate(long userId, String oldJti, String newJti, Instant newExpiresAt) {
-        Map<String, Instant> map = mem.computeIfAbsent(userId, k -> new ConcurrentHashMap<>());
-        map.remove(oldJti);
-        map.put(newJti, newExpiresAt);
+    public boolean rotate(long userId, String oldJti, String newJti, Instant newExpiresAt) {
+        UUID old = parse(oldJti);
+        if (old == null) return ops.rotated(false);
+        UUID next = UUID.fromString(newJti);
+        long exp = newExpiresAt.toEpochMilli();
+        long now = System.currentTimeMillis();
+        boolean[] swapped = new boolean[1];
+        mem.computeIfPresent(userId, (k, s) -> {
+            swapped[0] = s.replace(old.getMostSignificantBits(), old.getLeastSignificantBits(),
+                    next.getMostSignificantBits(), next.getLeastSignificantBits(), exp, now);
+            return s;
+        });
+        if (swapped[0]) scheduleExpiry(userId, exp);
+        return ops.rotated(swapped[0]);
     }
 
     @Override
     public void revoke(long userId, String jti) {
-        Optional.ofNullable(mem.get(userId)).ifPresent(m -> m.remove(jti));
+        UUID u = parse(jti);
+        if (u == null) return;
+        mem.computeIfPresent(userId, (k, s) -> {
+            s.remove(u.getMostSignificantBits(), u.getLeastSignificantBits());
+            return s.size == 0 ? null : s;
+        });
+        ops.revoked();
     }
 
     @Override
     public void revokeAll(long userId) {
-        mem.remove(userId);
+        drop(userId);
+        ops.revokedAll();
+    }
+
+    /**
+     * 모두 지난 버킷(현재 버킷 제외)에 걸린 사용자만 훑어 만료 세션과 빈 사용자 엔트리를 제거한다.
+     * 현재 버킷은 아직 만료 전 세션이 섞여 있으므로 다음 주기로 남긴다. 처리한 사용자만 버킷에서 빼고,
+     * 그 사이 같은 버킷에 추가된 사용자는 버킷이 비었을 때만 지우는 식으로 놓치지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${refresh-store.memory.sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        Map<Long, Set<Long>> due = expiryBuckets.headMap(now / bucketMs, false);
+        for (Map.Entry<Long, Set<Long>> bucket : due.entrySet()) {
+            Set<Long> users = bucket.getValue();
+            for (Long userId : users) {
+                mem.computeIfPresent(userId, (k, s) -> s.purgeExpired(now) == 0 ? null : s);
+                users.remove(userId);
+            }
+            if (users.isEmpty() && expiryBuckets.remove(bucket.getKey(), users)) {
+                // 지우는 사이 끼어든 사용자는 새 버킷 집합으로 옮겨 다음 주기에 처리
+                for (Long userId : users) scheduleBucket(userId, bucket.getKey());
+            }
+        }
+    }
+
+    // --- 복제(ReplicatedRefreshTokenStore)용: 다른 파드의 변경/스냅샷을 로컬 맵에 반영 ---
+
+    /** 이미 있으면 무시 — 같은 변경이 알림과 스냅샷으로 두 번 와도 세션이 중복되지 않는다 */
+    void putIfAbsent(long userId, long hi, long lo, long expMs) {
+        mem.compute(userId, (k, s) -> {
+            if (s == null) s = new Sessions();
+            if (s.expiryOf(hi, lo) == 0) s.add(hi, lo, expMs);
+            return s;
+        });
+        scheduleExpiry(userId, expMs);
+    }
+
+    void remove(long userId, long hi, long lo) {
+        mem.computeIfPresent(userId, (k, s) -> {
+            s.remove(hi, lo);
+            return s.size == 0 ? null : s;
+        });
+    }
+
+    private void drop(long userId) {
+        Sessions s = mem.remove(userId);
+        if (s != null) {
+            synchronized (s) {
+                entries.addAndGet(-s.size);
+                s.size = 0;
+            }
+        }
+    }
+
+    /** 세션이 있는 사용자 수 */
+    int userCount() {
+        return mem.size();
+    }
+
+    /** 저장된 세션(jti) 수 */
+    public long entryCount() {
+        return entries.get();
+    }
+
+    /** 세션 상한 초과로 밀려난 세션 수(누적) */
+    public long evictedCount() {
+        return evicted.get();
+    }
+
+    private void scheduleExpiry(long userId, long expMs) {
+        scheduleBucket(userId, expMs / bucketMs);
+    }
+
+    private void scheduleBucket(long userId, long bucket) {
+        while (true) {
+            Set<Long> users = expiryBuckets.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet());
+            users.add(userId);
+            if (expiryBuckets.get(bucket) == users) return;   // sweep 가 방금 떼어 낸 집합이면 다시
+        }
+    }
+
+    private static UUID parse(String jti) {
+        if (jti == null) return null;
+        try { return UUID.fromString(jti); }
+        catch (IllegalArgumentException e) { return null; }
+    }
+
+    /** 한 사용자의 세션 목록. 삽입 순서 유지(0번이 가장 오래된 세션). */
+    private final class Sessions {
+        private long[] hi = new long[2];
+        private long[] lo = new long[2];
+        private long[] exp = new long[2];
+        private int size;
+
+        synchronized void add(long h, long l, long e) {
+            if (size == maxSessionsPerUser) {
+                removeAt(0);
+                evicted.incrementAndGet();
+            }
+            if (size == hi.length) {
+                int cap = Math.min(hi.length * 2, maxSessionsPerUser);
+                hi = Arrays.copyOf(hi, cap);
+                lo = Arrays.copyOf(lo, cap);
+                exp = Arrays.copyOf(exp, cap);
+            }
+            hi[size] = h;
+            lo[size] = l;
+            exp[size] = e;
+            size++;
+            entries.incrementAndGet();
+        }
+
+        /** 없으면 0 */
+        synchronized long expiryOf(long h, long l) {
+            int i = indexOf(h, l);
+            return i < 0 ? 0 : exp[i];
+        }
+
+        /** (h, l) 가 만료 전이면 제거하고 새 세션을 가장 최근 위치에 추가한다 */
+        synchronized boolean replace(long h, long l, long nh, long nl, long ne, long now) {
+            int i = indexOf(h, l);
+            if (i < 0 || exp[i] <= now) return false;
+            removeAt(i);
+            add(nh, nl, ne);
+            return true;
+        }
+
+        synchronized void remove(long h, long l) {
+            int i = indexOf(h, l);
+            if (i >= 0) removeAt(i);
+        }
+
+        /** 만료 세션 제거 후 남은 개수 */
+        synchronized int purgeExpired(long now) {
+            int w = 0;
+            for (int r = 0; r < size; r++) {
+                if (exp[r] > now) {
+                    hi[w] = hi[r];
+                    lo[w] = lo[r];
+                    exp[w] = exp[r];
+                    w++;
+                }
+            }
+            entries.addAndGet(w - size);
+            size = w;
+            return size;
+        }
+
+        private int indexOf(long h, long l) {
+            for (int i = 0; i < size; i++) {
+                if (hi[i] == h && lo[i] == l) return i;
+            }
+            return -1;
+        }
+
+        private void removeAt(int i) {
+            int tail = size - i - 1;
+            System.arraycopy(hi, i + 1, hi, i, tail);
+            System.arraycopy(lo, i + 1, lo, i, tail);
+            System.arraycopy(exp, i + 1, exp, i, tail);
+            size--;
+            entries.decrementAndGet();
+        }
     }
-}
\ No newline at end of file
+}
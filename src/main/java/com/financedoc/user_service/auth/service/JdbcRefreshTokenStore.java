@@ -0,0 +1,362 @@
+package com.financedoc.user_service.auth.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * refresh_tokens 테이블 기반 RefreshTokenStore — 재시작/다중 레플리카에서도 jti 화이트리스트 유지.
+ * save 는 write-behind 버퍼에 쌓였다가 flush 주기마다 배치 INSERT 된다.
+ * 버퍼에 있는 동안은 이 파드에서만 보이므로 flush 주기가 곧 레플리카 간 지연 상한이다.
+ * 버퍼 항목은 INSERT 가 커밋된 뒤에야 버퍼에서 빠진다 — flush 도중에도 exists 는 버퍼에서 찾고,
+ * 버퍼에 있는 jti 의 rotate/revoke 는 진행 중인 배치가 끝나길(flushLock) 기다려 커밋된 행을 되살리지 않는다.
+ * 배치가 실패하면 항목은 버퍼에 그대로 남아 다음 flush 에서 다시 쓴다.
+ * flush 는 전용 스레드(refresh-store-flush)에서 돈다 — 공유 @Scheduled 스레드의 sweep/아웃박스/epochs poll/키 갱신 뒤에 밀리지 않는다.
+ * rotate 는 이전 행을 지우지 않고 후속 jti + 유예 종료 시각을 같은 UPDATE 로 남긴다(findRotation) —
+ * 다른 레플리카에서 진 동시 회전은 유예 안이면 그 후속 jti 로 응답하고, 기록이 있는데 유예가 지났을 때만 재사용이다.
+ * 활성화: refresh-store.type=jdbc (replicated 에서는 ReplicatedRefreshTokenStore 의 영속 저장소로 쓰인다)
+ * 지표: refresh.store.operations / refresh.store.pending {store=jdbc}
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("'${refresh-store.type:memory}' == 'jdbc' or '${refresh-store.type:memory}' == 'replicated'")
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String INSERT =
+            "INSERT INTO refresh_tokens (user_id, jti_hi, jti_lo, expires_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_ROTATED =
+            "INSERT INTO refresh_tokens (user_id, jti_hi, jti_lo, expires_at, rotated_to_hi, rotated_to_lo, grace_until)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String EXISTS =
+            "SELECT 1 FROM refresh_tokens WHERE user_id = ? AND jti_hi = ? AND jti_lo = ? AND expires_at > ?"
+                    + " AND grace_until IS NULL";
+    private static final String DELETE_ONE =
+            "DELETE FROM refresh_tokens WHERE user_id = ? AND jti_hi = ? AND jti_lo = ?";
+    // 회전 기록은 로그아웃으로 지우지 않는다 — 탈취된 이전 토큰으로 흔적을 지울 수 없게
+    private static final String REVOKE_ONE =
+            "DELETE FROM refresh_tokens WHERE user_id = ? AND jti_hi = ? AND jti_lo = ? AND grace_until IS NULL";
+    // CAS + 회전 기록을 한 문장으로 — 1행을 바꾼 호출만 성공
+    private static final String ROTATE_LIVE =
+            "UPDATE refresh_tokens SET rotated_to_hi = ?, rotated_to_lo = ?, grace_until = ?"
+                    + " WHERE user_id = ? AND jti_hi = ? AND jti_lo = ? AND expires_at > ? AND grace_until IS NULL";
+    private static final String SELECT_ROTATION =
+            "SELECT rotated_to_hi, rotated_to_lo, grace_until FROM refresh_tokens"
+                    + " WHERE user_id = ? AND jti_hi = ? AND jti_lo = ? AND grace_until IS NOT NULL";
+    private static final String DELETE_USER =
+            "DELETE FROM refresh_tokens WHERE user_id = ?";
+    private static final String SELECT_LIVE =
+            "SELECT user_id, jti_hi, jti_lo, expires_at FROM refresh_tokens WHERE expires_at > ? AND grace_until IS NULL";
+    private static final String SELECT_EXPIRED =
+            "SELECT user_id, jti_hi, jti_lo FROM refresh_tokens WHERE expires_at <= ? LIMIT ?";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int sweepChunkSize;
+    private final long flushIntervalMs;
+    private final long rotationGraceMs;
+    private final Duration visibilityLag;
+
+    /** 아직 INSERT 가 커밋되지 않은 jti → 만료 epoch millis */
+    private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+    /** 배치 하나를 쓰는 동안 잡는다 — 버퍼 항목을 꺼내 가는 rotate/revoke 와 순서를 맞춘다 */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final RefreshStoreMeters ops;
+
+    private volatile boolean running = true;
+    private Thread flusher;
+
+    public JdbcRefreshTokenStore(
+            JdbcTemplate jdbc,
+            TransactionTemplate tx,
+            @Value("${refresh-store.jdbc.batch-size:500}") int batchSize,
+            @Value("${refresh-store.jdbc.sweep-chunk-size:1000}") int sweepChunkSize,
+            @Value("${refresh-store.jdbc.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${refresh-store.jdbc.rotation-grace-ms:30000}") long rotationGraceMs,
+            MeterRegistry meters
+    ) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.batchSize = batchSize;
+        this.sweepChunkSize = sweepChunkSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.rotationGraceMs = rotationGraceMs;
+        this.visibilityLag = Duration.ofMillis(flushIntervalMs * 2);   // flush 주기 + 배치 INSERT 여유
+        this.ops = new RefreshStoreMeters(meters, "jdbc");
+        Gauge.builder("refresh.store.pending", pending, Map::size)
+                .description("write-behind buffer size")
+                .tag("store", "jdbc").register(meters);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher = Thread.ofPlatform().name("refresh-store-flush").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void save(long userId, String jti, Instant expiresAt) {
+        pending.put(Key.of(userId, jti), expiresAt.toEpochMilli());
+        ops.saved();
+        // 요청 스레드는 다른 flush 를 기다리지 않는다 — 이미 쓰는 중이면 그쪽/다음 주기에 맡긴다
+        if (pending.size() >= batchSize && flushLock.tryLock()) {
+            try {
+                writeBatch();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean exists(long userId, String jti) {
+        Key key = Key.parse(userId, jti);
+        if (key == null) return ops.exists(false);
+        long now = System.currentTimeMillis();
+        Long buffered = pending.get(key);
+        if (buffered != null) {
+            return ops.exists(now < buffered);
+        }
+        return ops.exists(!jdbc.queryForList(EXISTS, Integer.class, key.userId, key.hi, key.lo, now).isEmpty());
+    }
+
+    @Override
+    public Rotation findRotation(long userId, String oldJti) {
+        Key key = Key.parse(userId, oldJti);
+        if (key == null) return null;
+        List<Rotation> found = jdbc.query(SELECT_ROTATION, (rs, i) -> new Rotation(
+                        new UUID(rs.getLong(1), rs.getLong(2)).toString(), Instant.ofEpochMilli(rs.getLong(3))),
+                key.userId, key.hi, key.lo);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public boolean rotate(long userId, String oldJti, String newJti, Instant newExpiresAt) {
+        Key old = Key.parse(userId, oldJti);
+        if (old == null) return ops.rotated(false);
+        UUID next = UUID.fromString(newJti);
+        long now = System.currentTimeMillis();
+        long graceUntil = now + rotationGraceMs;
+        // 버퍼에서 꺼내거나 UPDATE 가 1행을 바꾼 호출만 성공 — 레플리카 간에도 한 번만 회전된다
+        Long buffered = takeBuffered(old);
+        boolean swapped;
+        if (buffered != null) {
+            swapped = now < buffered;
+            if (swapped) recordRotation(old, buffered, next, graceUntil);
+        } else {
+            swapped = jdbc.update(ROTATE_LIVE, next.getMostSignificantBits(), next.getLeastSignificantBits(),
+                    graceUntil, old.userId, old.hi, old.lo, now) == 1;
+        }
+        if (swapped) save(userId, newJti, newExpiresAt);
+        return ops.rotated(swapped);
+    }
+
+    /**
+     * 버퍼에서 회전된 jti 는 아직 행이 없으므로 회전 기록만 한 행으로 쓴다.
+     * 실패해도 회전은 유효하다 — 다른 레플리카는 기록 없는 miss 로 보고 폐기 없이 거절한다.
+     */
+    private void recordRotation(Key old, long expiresAt, UUID next, long graceUntil) {
+        try {
+            jdbc.update(INSERT_ROTATED, old.userId, old.hi, old.lo, expiresAt,
+                    next.getMostSignificantBits(), next.getLeastSignificantBits(), graceUntil);
+        } catch (DataAccessException e) {
+            log.warn("[RefreshTokenStore] rotation record for buffered jti not written: {}", e.toString());
+        }
+    }
+
+    @Override
+    public void revoke(long userId, String jti) {
+        Key key = Key.parse(userId, jti);
+        if (key == null) return;
+        takeBuffered(key);
+        jdbc.update(REVOKE_ONE, key.userId, key.hi, key.lo);   // 버퍼에서 뺐더라도 — 직전 배치가 이미 썼을 수 있다
+        ops.revoked();
+    }
+
+    @Override
+    public void revokeAll(long userId) {
+        flushLock.lock();
+        try {
+            pending.keySet().removeIf(k -> k.userId == userId);
+        } finally {
+            flushLock.unlock();
+        }
+        jdbc.update(DELETE_USER, userId);
+        ops.revokedAll();
+    }
+
+    /**
+     * 다른 레플리카 버퍼에 있는 jti 는 다음 flush 가 커밋될 때까지 이 파드의 rotate 에서 miss 로 보인다.
+     * 보통의 지연일 뿐 상한은 아니다(배치 실패 시 버퍼에 남아 더 늦어진다) — 회전 기록 없는 miss 는 재사용이 아니다.
+     */
+    @Override
+    public Duration visibilityLag() {
+        return visibilityLag;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.warn("[RefreshTokenStore] flush failed: {}", e.toString());
+            }
+        }
+    }
+
+    /** write-behind 버퍼를 배치 INSERT 로 비운다. 배치 사이에는 락을 놓아 rotate/revoke 가 오래 기다리지 않게 한다. */
+    public void flush() {
+        int rounds = pending.size() / batchSize + 1;   // 그 사이 들어오는 save 때문에 끝없이 돌지 않도록
+        for (int i = 0; i < rounds; i++) {
+            flushLock.lock();
+            try {
+                if (writeBatch() < batchSize) return;
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 버퍼에서 최대 batch-size 건을 한 트랜잭션으로 INSERT 하고, 커밋된 항목만 버퍼에서 뺀다.
+     * flushLock 을 잡은 채 호출한다. 쓴 건수를 돌려주고, 실패하면 -1 (항목은 버퍼에 남는다).
+     */
+    private int writeBatch() {
+        if (pending.isEmpty()) return 0;
+        List<Map.Entry<Key, Long>> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+        for (Map.Entry<Key, Long> e : pending.entrySet()) {
+            batch.add(Map.entry(e.getKey(), e.getValue()));
+            if (batch.size() == batchSize) break;
+        }
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Map.Entry<Key, Long> e : batch) {
+            Key key = e.getKey();
+            rows.add(new Object[] { key.userId, key.hi, key.lo, e.getValue() });
+        }
+        try {
+            tx.executeWithoutResult(status -> jdbc.batchUpdate(INSERT, rows));
+        } catch (DuplicateKeyException e) {
+            // 앞선 배치가 커밋됐는데 실패로 보고된 경우 등 — 행 단위로 넣고 이미 있는 행은 건너뛴다
+            if (!insertEach(rows)) return -1;
+        } catch (RuntimeException e) {
+            log.warn("[RefreshTokenStore] flush of {} rows failed, keeping them buffered: {}", rows.size(), e.toString());
+            return -1;
+        }
+        for (Map.Entry<Key, Long> e : batch) {
+            pending.remove(e.getKey(), e.getValue());
+        }
+        return batch.size();
+    }
+
+    private boolean insertEach(List<Object[]> rows) {
+        try {
+            for (Object[] row : rows) {
+                try {
+                    jdbc.update(INSERT, row);
+                } catch (DuplicateKeyException ignored) {
+                    // 이미 기록됨
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("[RefreshTokenStore] flush of {} rows failed, keeping them buffered: {}", rows.size(), e.toString());
+            return false;
+        }
+    }
+
+    /** 버퍼에 있으면 꺼낸다. 그 항목을 쓰는 배치가 진행 중이면 끝날 때까지 기다린다(커밋됐으면 null → DB 경로). */
+    private Long takeBuffered(Key key) {
+        if (!pending.containsKey(key)) return null;   // 버퍼에 없던 jti 는 다시 들어오지 않는다
+        flushLock.lock();
+        try {
+            return pending.remove(key);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** 만료 행을 sweep-chunk-size 단위로 나눠 삭제 — 한 번에 긴 락/큰 트랜잭션을 만들지 않는다. */
+    @Scheduled(fixedDelayString = "${refresh-store.jdbc.sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        int deleted = 0;
+        List<Object[]> chunk;
+        do {
+            chunk = jdbc.query(SELECT_EXPIRED,
+                    (rs, i) -> new Object[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) },
+                    now, sweepChunkSize);
+            if (!chunk.isEmpty()) {
+                jdbc.batchUpdate(DELETE_ONE, chunk);
+                deleted += chunk.size();
+            }
+        } while (chunk.size() == sweepChunkSize);
+        if (deleted > 0) {
+            log.debug("[RefreshTokenStore] swept {} expired rows", deleted);
+        }
+    }
+
+    /** 만료 전 행 전체 — 복제 저장소의 기동/재동기화 스냅샷. 호출 전에 flush() 로 이 파드 버퍼를 먼저 비운다. */
+    void forEachLive(LiveRowHandler handler) {
+        jdbc.query(SELECT_LIVE, (RowCallbackHandler) rs ->
+                handler.row(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)), System.currentTimeMillis());
+    }
+
+    /** 이 파드 버퍼에 아직 있는(INSERT 커밋 전) jti 인지 — 복제 저장소의 catch-up 재적용 판단용 */
+    boolean isBuffered(long userId, long jtiHi, long jtiLo) {
+        return pending.containsKey(new Key(userId, jtiHi, jtiLo));
+    }
+
+    @FunctionalInterface
+    interface LiveRowHandler {
+        void row(long userId, long jtiHi, long jtiLo, long expiresAt);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            flusher.join(1_000);
+        }
+        flush();
+    }
+
+    /** (user_id, jti) — jti 는 UUID 문자열을 128비트로 변환해 보관 */
+    private record Key(long userId, long hi, long lo) {
+        static Key of(long userId, String jti) {
+            UUID u = UUID.fromString(jti);
+            return new Key(userId, u.getMostSignificantBits(), u.getLeastSignificantBits());
+        }
+
+        /** UUID 형식이 아닌 jti 는 저장될 수 없으므로 조회/폐기 시 null 로 취급 */
+        static Key parse(long userId, String jti) {
+            if (jti == null) return null;
+            try { return of(userId, jti); }
+            catch (IllegalArgumentException e) { return null; }
+        }
+    }
+}
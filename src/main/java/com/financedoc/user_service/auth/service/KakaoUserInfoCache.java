@@ -0,0 +1,43 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.dto.response.KakaoUserInfoResponse;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 카카오 access token(SHA-256) → /v2/user/me 응답 단기 캐시.
+ * 모바일 앱이 같은 카카오 토큰으로 재로그인할 때 외부 왕복과 카카오 호출 한도를 아낀다.
+ * 실패/빈 응답은 캐시에 남지 않는다. 지표: cache.* {cache=kakao.user-info}
+ */
+@Component
+public class KakaoUserInfoCache {
+
+    private final AsyncCache<TokenDigest, KakaoUserInfoResponse> cache;
+
+    public KakaoUserInfoCache(
+            @Value("${kakao.user-info-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${kakao.user-info-cache.max-size:10000}") long maxSize,
+            MeterRegistry meters
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meters, cache, "kakao.user-info");
+    }
+
+    /** 같은 토큰의 동시 요청은 하나의 loader 호출을 공유한다 */
+    public Mono<KakaoUserInfoResponse> get(String kakaoAccessToken, Function<String, Mono<KakaoUserInfoResponse>> loader) {
+        return Mono.fromFuture(() -> cache.get(TokenDigest.of(kakaoAccessToken),
+                (k, executor) -> loader.apply(kakaoAccessToken).toFuture()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.repository.UserEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 브로커 없이 같은 프로세스의 @EventListener(UserEvent) 로 전달하는 기본 발행자.
+ * 외부 브로커 발행자를 붙일 때는 outbox.publisher 값을 바꾸고 UserEventPublisher 구현을 추가한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "local", matchIfMissing = true)
+public class LocalUserEventPublisher implements UserEventPublisher {
+
+    private final ApplicationEventPublisher events;
+
+    @Override
+    public void publish(List<UserEvent> batch) {
+        for (UserEvent e : batch) {
+            events.publishEvent(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.financedoc.user_service.auth.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 로그인 경로의 외부 자원 동시 사용 상한.
+ * 가상 스레드 모드에선 요청 스레드 수가 사실상 무제한이므로, 카카오 호출과 DB 구간을 각각 세마포어로 묶어
+ * 카카오 커넥션 풀과 Hikari 풀이 대기열로 넘치지 않게 한다. 허가를 못 받으면 503.
+ * DB 허가 수는 Hikari 최대 풀 크기에서 허가 밖에서 커넥션을 쓰는 몫을 뺀 값이다 — @Scheduled 스레드(sweep, 아웃박스,
+ * epochs poll, 키 갱신), refresh 저장소 flush 스레드, replicated 의 LISTEN/NOTIFY 커넥션, 허가 없이 DB 를 쓰는 요청
+ * 경로(/auth/refresh, /me miss 등 — db-reserved-connections). db-concurrency 를 주면 그 값과 계산값 중 작은 쪽.
+ * 지표: login.limits.available / login.limits.waiting {resource=kakao|db}
+ */
+@Slf4j
+@Component
+public class LoginLimits {
+
+    private final Semaphore kakaoPermits;
+    private final Semaphore dbPermits;
+    private final long acquireTimeoutMs;
+
+    public LoginLimits(
+            @Value("${login.limits.kakao-concurrency:200}") int kakaoConcurrency,
+            @Value("${login.limits.db-concurrency:0}") int dbConcurrency,
+            @Value("${login.limits.db-reserved-connections:2}") int dbReserved,
+            @Value("${login.limits.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${spring.task.scheduling.pool.size:1}") int schedulerThreads,
+            @Value("${refresh-store.type:memory}") String refreshStore,
+            DataSource dataSource,
+            MeterRegistry meters
+    ) {
+        int poolSize = maximumPoolSize(dataSource);
+        int available = Math.max(1, poolSize - schedulerThreads - refreshStoreConnections(refreshStore) - dbReserved);
+        int dbPermitCount = dbConcurrency > 0 ? Math.min(dbConcurrency, available) : available;
+        log.info("[LoginLimits] db permits {} (pool {}, scheduler {}, refresh-store {}, reserved {})",
+                dbPermitCount, poolSize, schedulerThreads, refreshStoreConnections(refreshStore), dbReserved);
+        this.kakaoPermits = new Semaphore(kakaoConcurrency);
+        this.dbPermits = new Semaphore(dbPermitCount);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        bindGauges(meters, kakaoPermits, "kakao");
+        bindGauges(meters, dbPermits, "db");
+    }
+
+    public <T> T withKakaoPermit(Supplier<T> call) {
+        return withPermit(kakaoPermits, "Kakao", call);
+    }
+
+    public <T> T withDbPermit(Supplier<T> call) {
+        return withPermit(dbPermits, "database", call);
+    }
+
+    private static int maximumPoolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // 아래 기본값
+        }
+        return 10;   // HikariCP 기본 maximumPoolSize
+    }
+
+    /** 허가 밖에서 상시/주기적으로 커넥션을 쓰는 refresh 저장소 스레드 수 */
+    private static int refreshStoreConnections(String type) {
+        return switch (type) {
+            case "jdbc" -> 1;          // write-behind flush 스레드
+            case "replicated" -> 3;    // flush + LISTEN 수신(상시 점유) + NOTIFY 송신
+            default -> 0;
+        };
+    }
+
+    private static void bindGauges(MeterRegistry meters, Semaphore permits, String resource) {
+        Gauge.builder("login.limits.available", permits, Semaphore::availablePermits)
+                .tag("resource", resource).register(meters);
+        Gauge.builder("login.limits.waiting", permits, Semaphore::getQueueLength)
+                .tag("resource", resource).register(meters);
+    }
+
+    private <T> T withPermit(Semaphore permits, String resource, Supplier<T> call) {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent logins (" + resource + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted waiting for " + resource);
+        }
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+}
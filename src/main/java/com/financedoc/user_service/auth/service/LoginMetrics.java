@@ -0,0 +1,71 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.timing.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * kakaoLogin 단계별 소요 시간 — auth.login.stage{stage=...} 타이머(퍼센타일 히스토그램 포함).
+ * 타이머는 생성 시 한 번만 등록해 두고 호출 경로에선 조회/태그 생성을 하지 않는다.
+ * 같은 구간을 요청별 RequestTiming(Server-Timing / 타이밍 로그)에도 남긴다.
+ */
+@Component
+public class LoginMetrics {
+
+    public enum Stage {
+        CODE_EXCHANGE("code_exchange"),
+        USER_INFO("user_info"),
+        UPSERT("upsert"),
+        TOKEN_MINT("token_mint"),
+        REFRESH_SAVE("refresh_save");
+
+        final String tag;
+
+        Stage(String tag) { this.tag = tag; }
+    }
+
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+
+    public LoginMetrics(MeterRegistry meters) {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, Timer.builder("auth.login.stage")
+                    .description("kakaoLogin stage latency")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .register(meters));
+        }
+    }
+
+    /** 예외로 끝난 호출도 기록된다 */
+    public <T> T time(Stage stage, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            record(stage, start);
+        }
+    }
+
+    public void time(Stage stage, Runnable call) {
+        long start = System.nanoTime();
+        try {
+            call.run();
+        } finally {
+            record(stage, start);
+        }
+    }
+
+    /** 여러 호출을 묶어 잴 때 — startNanos 는 System.nanoTime() */
+    public void record(Stage stage, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        timers.get(stage).record(elapsed, TimeUnit.NANOSECONDS);
+        RequestTiming t = RequestTiming.current();
+        if (t != null) t.add(stage.tag, elapsed);
+    }
+}
@@ -0,0 +1,135 @@
+package com.financedoc.user_service.auth.service;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * long → long 오픈 어드레싱 맵 (박싱 없음, 항목당 16바이트).
+ * 읽기는 StampedLock 낙관적 읽기로 락 없이 상수 시간, 쓰기는 배타 락.
+ * 없는 키는 0 을 돌려준다 — 값 0 은 "없음"과 구분하지 않는다.
+ */
+final class LongLongMap {
+
+    private static final long FREE = Long.MIN_VALUE;   // 키로 쓰지 않는 값
+
+    private final StampedLock lock = new StampedLock();
+    private Table table;   // 키/값 배열을 한 참조로 — 낙관적 읽기가 서로 다른 세대의 배열을 섞지 않게
+    private int size;
+
+    private record Table(long[] keys, long[] values) {}
+
+    LongLongMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    long get(long key) {
+        long stamp = lock.tryOptimisticRead();
+        long v = find(table, key);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                v = find(table, key);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return v;
+    }
+
+    /** 기존 값보다 클 때만 올린다 (없으면 추가) */
+    void putMax(long key, long value) {
+        merge(key, value, Math::max);
+    }
+
+    void merge(long key, long value, LongBinaryOperator fn) {
+        if (key == FREE) throw new IllegalArgumentException("reserved key");
+        long stamp = lock.writeLock();
+        try {
+            long[] keys = table.keys, values = table.values;
+            int mask = keys.length - 1;
+            for (int i = mix(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    values[i] = fn.applyAsLong(values[i], value);
+                    return;
+                }
+                if (keys[i] == FREE) {
+                    values[i] = value;
+                    keys[i] = key;
+                    if (++size * 2 > keys.length) rehash(keys.length * 2, Long.MIN_VALUE);
+                    return;
+                }
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** 값이 min 미만인 항목을 모두 제거하고 크기에 맞게 다시 만든다 */
+    void removeBelow(long min) {
+        long stamp = lock.writeLock();
+        try {
+            long[] keys = table.keys, values = table.values;
+            int live = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != FREE && values[i] >= min) live++;
+            }
+            if (live == size) return;
+            rehash(capacityFor(live), min);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static long find(Table t, long key) {
+        long[] keys = t.keys, values = t.values;
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        for (int probes = 0; probes < keys.length; probes++, i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) return values[i];
+            if (k == FREE) return 0;
+        }
+        return 0;
+    }
+
+    private void rehash(int capacity, long min) {
+        long[] oldKeys = table.keys;
+        long[] oldValues = table.values;
+        allocate(capacity);
+        long[] keys = table.keys, values = table.values;
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            long k = oldKeys[j];
+            if (k == FREE || oldValues[j] < min) continue;
+            int i = mix(k) & mask;
+            while (keys[i] != FREE) i = (i + 1) & mask;
+            keys[i] = k;
+            values[i] = oldValues[j];
+            size++;
+        }
+    }
+
+    /** 새 배열로 교체 — 낙관적 읽기는 이전 배열을 끝까지 읽고 validate 에서 다시 시도한다 */
+    private void allocate(int capacity) {
+        long[] k = new long[capacity];
+        Arrays.fill(k, FREE);
+        table = new Table(k, new long[capacity]);
+        size = 0;
+    }
+
+    private static int capacityFor(int entries) {
+        int cap = 16;
+        while (cap < entries * 2 + 1) cap <<= 1;
+        return cap;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,64 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.repository.OutboxRepository;
+import com.financedoc.user_service.auth.repository.UserEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * outbox_events → UserEventPublisher 배치 릴레이.
+ * 한 배치는 잠금·발행·삭제가 한 트랜잭션이라, 발행이 실패하면 행이 남아 다음 주기에 재전송된다.
+ * 배치가 가득 차 있으면 비울 때까지 이어서 보낸다. 지표: outbox.relayed
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository outbox;
+    private final UserEventPublisher publisher;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final Counter relayed;
+
+    public OutboxRelay(
+            OutboxRepository outbox,
+            UserEventPublisher publisher,
+            TransactionTemplate tx,
+            @Value("${outbox.batch-size:200}") int batchSize,
+            MeterRegistry meters
+    ) {
+        this.outbox = outbox;
+        this.publisher = publisher;
+        this.tx = tx;
+        this.batchSize = batchSize;
+        this.relayed = Counter.builder("outbox.relayed").register(meters);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer sent;
+            do {
+                sent = tx.execute(status -> relayBatch());
+            } while (sent != null && sent == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("[Outbox] relay failed, will retry: {}", e.toString());
+        }
+    }
+
+    private int relayBatch() {
+        List<UserEvent> batch = outbox.lockBatch(batchSize);
+        if (batch.isEmpty()) return 0;
+        publisher.publish(batch);
+        outbox.delete(batch);
+        relayed.increment(batch.size());
+        return batch.size();
+    }
+}
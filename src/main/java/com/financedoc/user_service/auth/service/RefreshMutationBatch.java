@@ -0,0 +1,136 @@
+package com.financedoc.user_service.auth.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 복제용 refresh 변경 버퍼 — 같은 사용자/jti 에 대한 변경을 합쳐 NOTIFY 페이로드로 직렬화한다.
+ * - 같은 jti 의 save→revoke 는 revoke 하나로, revokeAll 은 그 사용자의 앞선 변경을 모두 덮는다
+ * - 페이로드는 줄 단위 텍스트: 첫 줄 "origin:seq", 이후 "S,user,hi,lo,exp" / "D,user,hi,lo" / "A,user"
+ *   (hi/lo 는 jti UUID 상위/하위 64비트의 부호 없는 16진수, exp 는 epoch millis)
+ * - pg_notify 페이로드 상한(8000 bytes) 안에서 여러 개로 나누고, 각자 seq 를 달아 수신 측이 누락을 알 수 있게 한다
+ * 스레드 안전하지 않다 — ReplicatedRefreshTokenStore 가 락 안에서 채우고 통째로 교체해 보낸다.
+ */
+final class RefreshMutationBatch {
+
+    static final int MAX_PAYLOAD_BYTES = 7_900;
+
+    /** 디코딩한 변경을 받는 쪽 (로컬 맵) */
+    interface Sink {
+        void save(long userId, long hi, long lo, long expMs);
+        void remove(long userId, long hi, long lo);
+        void removeAll(long userId);
+    }
+
+    record Header(String origin, long seq) {}
+
+    private static final long REMOVED = -1;
+
+    private record Jti(long hi, long lo) {}
+
+    private static final class UserOps {
+        boolean all;
+        final Map<Jti, Long> jtis = new LinkedHashMap<>(4);   // jti → exp 또는 REMOVED
+    }
+
+    private final Map<Long, UserOps> users = new LinkedHashMap<>();
+    private int mutations;
+
+    void save(long userId, long hi, long lo, long expMs) {
+        ops(userId).jtis.put(new Jti(hi, lo), expMs);
+        mutations++;
+    }
+
+    void remove(long userId, long hi, long lo) {
+        ops(userId).jtis.put(new Jti(hi, lo), REMOVED);
+        mutations++;
+    }
+
+    void removeAll(long userId) {
+        UserOps u = ops(userId);
+        u.all = true;
+        u.jtis.clear();
+        mutations++;
+    }
+
+    boolean isEmpty() {
+        return mutations == 0;
+    }
+
+    /** 합치기 전 변경 수 */
+    int mutations() {
+        return mutations;
+    }
+
+    /** 사용자별로 A 를 먼저, 그다음 jti 변경. 페이로드마다 nextSeq 에서 seq 를 하나씩 꺼낸다. */
+    List<String> encode(String origin, LongSupplier nextSeq) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder body = new StringBuilder(MAX_PAYLOAD_BYTES);
+        StringBuilder line = new StringBuilder(80);
+        for (Map.Entry<Long, UserOps> e : users.entrySet()) {
+            long userId = e.getKey();
+            UserOps u = e.getValue();
+            if (u.all) {
+                line.setLength(0);
+                line.append("A,").append(userId);
+                body = append(payloads, body, line, origin, nextSeq);
+            }
+            for (Map.Entry<Jti, Long> j : u.jtis.entrySet()) {
+                line.setLength(0);
+                long exp = j.getValue();
+                line.append(exp == REMOVED ? "D," : "S,").append(userId)
+                        .append(',').append(Long.toHexString(j.getKey().hi))
+                        .append(',').append(Long.toHexString(j.getKey().lo));
+                if (exp != REMOVED) line.append(',').append(exp);
+                body = append(payloads, body, line, origin, nextSeq);
+            }
+        }
+        if (!body.isEmpty()) payloads.add(header(origin, nextSeq) + body);
+        return payloads;
+    }
+
+    /** 헤더를 읽고 본문을 sink 에 적용한다. 모르는 줄은 건너뛴다(이후 버전 호환). */
+    static Header apply(String payload, Sink sink) {
+        int nl = payload.indexOf('\n');
+        String head = nl < 0 ? payload : payload.substring(0, nl);
+        int colon = head.lastIndexOf(':');
+        Header header = new Header(head.substring(0, colon), Long.parseLong(head.substring(colon + 1)));
+        int from = nl + 1;
+        while (nl >= 0 && from < payload.length()) {
+            int end = payload.indexOf('\n', from);
+            if (end < 0) end = payload.length();
+            String[] f = payload.substring(from, end).split(",");
+            switch (f[0]) {
+                case "S" -> sink.save(Long.parseLong(f[1]), Long.parseUnsignedLong(f[2], 16),
+                        Long.parseUnsignedLong(f[3], 16), Long.parseLong(f[4]));
+                case "D" -> sink.remove(Long.parseLong(f[1]), Long.parseUnsignedLong(f[2], 16),
+                        Long.parseUnsignedLong(f[3], 16));
+                case "A" -> sink.removeAll(Long.parseLong(f[1]));
+                default -> { }
+            }
+            from = end + 1;
+        }
+        return header;
+    }
+
+    private UserOps ops(long userId) {
+        return users.computeIfAbsent(userId, k -> new UserOps());
+    }
+
+    /** 다음 줄이 상한을 넘기면 지금까지를 페이로드 하나로 내보내고 새로 시작 (본문은 ASCII 라 길이 = 바이트 수) */
+    private static StringBuilder append(List<String> payloads, StringBuilder body, StringBuilder line,
+                                        String origin, LongSupplier nextSeq) {
+        if (!body.isEmpty() && body.length() + line.length() + 1 + origin.length() + 21 > MAX_PAYLOAD_BYTES) {
+            payloads.add(header(origin, nextSeq) + body);
+            body = new StringBuilder(MAX_PAYLOAD_BYTES);
+        }
+        return body.append(line).append('\n');
+    }
+
+    private static String header(String origin, LongSupplier nextSeq) {
+        return origin + ":" + nextSeq.getAsLong() + "\n";
+    }
+}
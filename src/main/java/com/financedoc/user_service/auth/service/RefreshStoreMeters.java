@@ -0,0 +1,53 @@
+package com.financedoc.user_service.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * RefreshTokenStore 구현 공통 연산 카운터 — refresh.store.operations{store, op, result}.
+ * exists/rotate 는 결과(hit/miss, ok/rejected)를 나눠 세어 재사용 탐지·만료 비율을 볼 수 있게 한다.
+ */
+final class RefreshStoreMeters {
+
+    private final Counter save;
+    private final Counter existsHit;
+    private final Counter existsMiss;
+    private final Counter rotateOk;
+    private final Counter rotateRejected;
+    private final Counter revoke;
+    private final Counter revokeAll;
+
+    RefreshStoreMeters(MeterRegistry meters, String store) {
+        this.save = counter(meters, store, "save", "ok");
+        this.existsHit = counter(meters, store, "exists", "hit");
+        this.existsMiss = counter(meters, store, "exists", "miss");
+        this.rotateOk = counter(meters, store, "rotate", "ok");
+        this.rotateRejected = counter(meters, store, "rotate", "rejected");
+        this.revoke = counter(meters, store, "revoke", "ok");
+        this.revokeAll = counter(meters, store, "revoke_all", "ok");
+    }
+
+    void saved() { save.increment(); }
+
+    boolean exists(boolean hit) {
+        (hit ? existsHit : existsMiss).increment();
+        return hit;
+    }
+
+    boolean rotated(boolean ok) {
+        (ok ? rotateOk : rotateRejected).increment();
+        return ok;
+    }
+
+    void revoked() { revoke.increment(); }
+
+    void revokedAll() { revokeAll.increment(); }
+
+    private static Counter counter(MeterRegistry meters, String store, String op, String result) {
+        return Counter.builder("refresh.store.operations")
+                .tag("store", store)
+                .tag("op", op)
+                .tag("result", result)
+                .register(meters);
+    }
+}
@@ -1,11 +1,36 @@
 package com.financedoc.user_service.auth.service;
 
+import java.time.Duration;
 import java.time.Instant;
 
 public interface RefreshTokenStore {
     void save(long userId, String jti, Instant expiresAt);
     boolean exists(long userId, String jti);
-    void rotate(long userId, String oldJti, String newJti, Instant newExpiresAt);
+    /** oldJti 가 살아 있을 때만 newJti 로 교체(원자적). oldJti 가 없으면 아무것도 하지 않고 false. */
+    boolean rotate(long userId, String oldJti, String newJti, Instant newExpiresAt);
     void revoke(long userId, String jti);
     void revokeAll(long userId);
+
+    /**
+     * save 가 다른 레플리카의 exists/rotate 에 보이기까지 걸릴 수 있는 최대 시간(write-behind 등).
+     * 이보다 최근에 발급된 jti 의 miss 는 "아직 안 보임"일 수 있어 재사용으로 단정하지 않는다.
+     */
+    default Duration visibilityLag() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * rotate 가 false 였던 oldJti 를 이미 회전시킨 기록 — 다른 레플리카가 먼저 회전한 경우에도 보인다.
+     * 기록을 남기지 않는 저장소(단일 파드, visibilityLag 0)는 null — 없으면 곧 폐기/회전된 jti 다.
+     */
+    default Rotation findRotation(long userId, String oldJti) {
+        return null;
+    }
+
+    /** oldJti → successorJti 회전 기록. graceUntil 전이면 같은 토큰의 동시/재시도 요청에 successor 를 돌려준다. */
+    record Rotation(String successorJti, Instant graceUntil) {
+        public boolean inGrace(Instant now) {
+            return now.isBefore(graceUntil);
+        }
+    }
 }
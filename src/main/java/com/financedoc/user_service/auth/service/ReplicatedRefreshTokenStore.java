@@ -0,0 +1,480 @@
+package com.financedoc.user_service.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 다중 레플리카용 RefreshTokenStore — 읽기는 파드 로컬 맵(InMemoryRefreshTokenStore), 쓰기는
+ * refresh_tokens(JdbcRefreshTokenStore) + 로컬 맵 + Postgres LISTEN/NOTIFY 로 다른 파드에 전파.
+ * - 변경은 linger-ms 동안 모아 합친 뒤(RefreshMutationBatch) pg_notify 로 보낸다 — 별도 브로커 없이 수 ms 내 전파
+ * - 수신 전용 커넥션 하나를 datasource 에서 빌려 LISTEN 하고, 다른 파드의 변경만 로컬 맵에 적용한다
+ * - 기동, 재연결, seq 누락 시에는 refresh_tokens 스냅샷으로 로컬 맵을 다시 만든다(catch-up). 스냅샷은 새 맵에 채우고,
+ *   적재 중 + 직전 visibility-lag 동안 적용한 변경(journal)을 그 위에 다시 적용한 뒤 통째로 바꿔 끼운다
+ *   → 재적재 중에도 조회/쓰기가 막히지 않고, 아직 영속화되지 않은 다른 파드의 save(write-behind)도 잃지 않는다.
+ *   그보다 오래된 save 는 영속화됐어야 하므로 스냅샷에 없으면 지워진 것 — 다시 적용하지 않는다(놓친 remove 를 되돌리지 않게).
+ *   이 파드 버퍼에 아직 남은 save(flush 실패)만 예외
+ * - seq 누락은 visibility-lag 뒤 한 번의 catch-up 으로 합친다 — 그 사이 다른 파드의 버퍼가 내려 쓰인다
+ * - rotate 의 CAS 는 레플리카 간에도 한 번만 성공해야 하므로 영속 저장소(UPDATE 1행 + 회전 기록)로 판정한다
+ * Postgres 가 아니면(H2 등) 전파 없이 로컬 맵 + 영속 저장소로만 동작한다.
+ * 활성화: refresh-store.type=replicated
+ * 지표: refresh.replication.mutations{direction=sent|received}, refresh.replication.notifications{direction},
+ *      refresh.replication.catchups, refresh.replication.connected, refresh.replication.journal,
+ *      refresh.store.entries / refresh.store.users / refresh.store.evicted {store=memory}
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(name = "refresh-store.type", havingValue = "replicated")
+public class ReplicatedRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+
+    private final JdbcRefreshTokenStore durable;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+    private final String channel;
+    private final long lingerMs;
+    private final long listenTimeoutMs;
+    private final long reconnectBackoffMs;
+    private final int maxSessionsPerUser;
+    private final long bucketMs;
+    private final RefreshStoreMeters ops;
+
+    private final String origin = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong seq = new AtomicLong();
+
+    /** 조회용 로컬 맵 — catch-up 이 새 인스턴스로 바꿔 끼운다 */
+    private volatile InMemoryRefreshTokenStore local;
+    private volatile long evictedBefore;   // 바꿔 낀 이전 맵들의 evicted 누적
+
+    /** 로컬 맵 변경과 journal 기록을 같은 순서로 — catch-up 의 재적용/교체도 이 락 안에서 */
+    private final ReentrantLock applyLock = new ReentrantLock();
+    private final ArrayDeque<Mutation> journal = new ArrayDeque<>();
+    private final long journalNanos;   // 다른 파드의 save 가 영속화되기까지(visibility-lag) + 여유
+    private final long lagNanos;       // 이보다 오래된 save 는 스냅샷에 있어야 한다
+    private long loadingSince;         // 스냅샷 적재 중이면 시작 시각(nanoTime), 아니면 0 (applyLock)
+
+    private final ReentrantLock outboxLock = new ReentrantLock();
+    private final Condition outboxReady = outboxLock.newCondition();
+    private RefreshMutationBatch outbox = new RefreshMutationBatch();
+
+    /** 파드(origin)별 마지막으로 적용한 seq — 수신 스레드만 접근 */
+    private final Map<String, Long> lastSeq = new HashMap<>();
+    private long catchUpAt;   // seq 누락 후 예정된 catch-up 시각(nanoTime), 없으면 0 — 수신 스레드만 접근
+
+    private volatile boolean running = true;
+    private volatile boolean connected;
+    private Thread sender;
+    private Thread listener;
+
+    private final Counter sentMutations;
+    private final Counter sentNotifications;
+    private final Counter receivedMutations;
+    private final Counter receivedNotifications;
+    private final Counter catchups;
+
+    public ReplicatedRefreshTokenStore(
+            JdbcRefreshTokenStore durable,
+            DataSource dataSource,
+            JdbcTemplate jdbc,
+            @Value("${refresh-store.memory.max-sessions-per-user:10}") int maxSessionsPerUser,
+            @Value("${refresh-store.memory.sweep-interval-ms:60000}") long bucketMs,
+            @Value("${refresh-store.replicated.channel:refresh_store}") String channel,
+            @Value("${refresh-store.replicated.linger-ms:5}") long lingerMs,
+            @Value("${refresh-store.replicated.listen-timeout-ms:500}") long listenTimeoutMs,
+            @Value("${refresh-store.replicated.reconnect-backoff-ms:1000}") long reconnectBackoffMs,
+            MeterRegistry meters
+    ) {
+        this.durable = durable;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.bucketMs = bucketMs;
+        this.ops = new RefreshStoreMeters(meters, "memory");
+        this.local = new InMemoryRefreshTokenStore(maxSessionsPerUser, bucketMs, ops);
+        this.journalNanos = durable.visibilityLag().plusSeconds(1).toNanos();
+        this.lagNanos = durable.visibilityLag().toNanos();
+        this.dataSource = dataSource;
+        this.jdbc = jdbc;
+        this.channel = channel;
+        this.lingerMs = lingerMs;
+        this.listenTimeoutMs = listenTimeoutMs;
+        this.reconnectBackoffMs = reconnectBackoffMs;
+        this.sentMutations = counter(meters, "refresh.replication.mutations", "sent");
+        this.sentNotifications = counter(meters, "refresh.replication.notifications", "sent");
+        this.receivedMutations = counter(meters, "refresh.replication.mutations", "received");
+        this.receivedNotifications = counter(meters, "refresh.replication.notifications", "received");
+        this.catchups = Counter.builder("refresh.replication.catchups")
+                .description("Local map reloads from refresh_tokens (startup, reconnect, missed notifications)")
+                .register(meters);
+        Gauge.builder("refresh.replication.connected", this, s -> s.connected ? 1 : 0).register(meters);
+        Gauge.builder("refresh.replication.journal", this, ReplicatedRefreshTokenStore::journalSize)
+                .description("Applied mutations retained for replay on catch-up").register(meters);
+        // 로컬 맵은 catch-up 마다 바뀌므로 게이지는 이 빈에 건다
+        Gauge.builder("refresh.store.entries", this, s -> s.local.entryCount())
+                .tag("store", "memory").register(meters);
+        Gauge.builder("refresh.store.users", this, s -> s.local.userCount())
+                .tag("store", "memory").register(meters);
+        FunctionCounter.builder("refresh.store.evicted", this, s -> s.evictedBefore + s.local.evictedCount())
+                .tag("store", "memory").register(meters);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!postgres()) {
+            log.warn("[RefreshReplication] datasource is not PostgreSQL — changes are not propagated to other replicas");
+            catchUp();
+            return;
+        }
+        catchUp();   // 첫 LISTEN 전에도 조회가 되도록 — 수신 스레드가 연결 후 한 번 더 맞춘다
+        sender = Thread.ofPlatform().name("refresh-replication-sender").daemon().start(this::sendLoop);
+        listener = Thread.ofPlatform().name("refresh-replication-listener").daemon().start(this::listenLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (sender != null) {
+            signal();
+            sender.join(1_000);
+        }
+        if (listener != null) listener.join(listenTimeoutMs + 1_000);
+    }
+
+    // === RefreshTokenStore ===
+
+    @Override
+    public void save(long userId, String jti, Instant expiresAt) {
+        UUID u = UUID.fromString(jti);
+        long exp = expiresAt.toEpochMilli();
+        durable.save(userId, jti, expiresAt);
+        applySave(userId, u.getMostSignificantBits(), u.getLeastSignificantBits(), exp);
+        publish(b -> b.save(userId, u.getMostSignificantBits(), u.getLeastSignificantBits(), exp));
+    }
+
+    @Override
+    public boolean exists(long userId, String jti) {
+        return local.exists(userId, jti);
+    }
+
+    @Override
+    public boolean rotate(long userId, String oldJti, String newJti, Instant newExpiresAt) {
+        if (!durable.rotate(userId, oldJti, newJti, newExpiresAt)) return false;
+        UUID old = UUID.fromString(oldJti);
+        UUID next = UUID.fromString(newJti);
+        long exp = newExpiresAt.toEpochMilli();
+        applyRemove(userId, old.getMostSignificantBits(), old.getLeastSignificantBits());
+        applySave(userId, next.getMostSignificantBits(), next.getLeastSignificantBits(), exp);
+        publish(b -> {
+            b.remove(userId, old.getMostSignificantBits(), old.getLeastSignificantBits());
+            b.save(userId, next.getMostSignificantBits(), next.getLeastSignificantBits(), exp);
+        });
+        return true;
+    }
+
+    @Override
+    public void revoke(long userId, String jti) {
+        durable.revoke(userId, jti);
+        UUID u;
+        try { u = UUID.fromString(jti); }
+        catch (IllegalArgumentException | NullPointerException e) { return; }
+        applyRemove(userId, u.getMostSignificantBits(), u.getLeastSignificantBits());
+        publish(b -> b.remove(userId, u.getMostSignificantBits(), u.getLeastSignificantBits()));
+    }
+
+    @Override
+    public void revokeAll(long userId) {
+        durable.revokeAll(userId);
+        applyRemoveAll(userId);
+        publish(b -> b.removeAll(userId));
+    }
+
+    /** rotate 는 영속 저장소로 판정하므로 그 write-behind 지연을 따른다 */
+    @Override
+    public Duration visibilityLag() {
+        return durable.visibilityLag();
+    }
+
+    @Override
+    public Rotation findRotation(long userId, String oldJti) {
+        return durable.findRotation(userId, oldJti);
+    }
+
+    @Scheduled(fixedDelayString = "${refresh-store.memory.sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        local.sweepExpired();
+    }
+
+    // === 전파 ===
+
+    /** 버퍼가 비어 있다 채워질 때만 깨운다 — linger 동안 들어오는 변경은 같은 배치로 합쳐진다 */
+    private void publish(Consumer<RefreshMutationBatch> change) {
+        if (sender == null) return;
+        outboxLock.lock();
+        try {
+            boolean wasEmpty = outbox.isEmpty();
+            change.accept(outbox);
+            if (wasEmpty) outboxReady.signal();
+        } finally {
+            outboxLock.unlock();
+        }
+    }
+
+    /** 변경이 생기면 linger-ms 가 다 지날 때까지 더 모은 뒤 버퍼를 통째로 바꿔 보낸다 */
+    private void sendLoop() {
+        while (running) {
+            RefreshMutationBatch batch;
+            outboxLock.lock();
+            try {
+                while (running && outbox.isEmpty()) outboxReady.await();
+                long remaining = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (running && remaining > 0) remaining = outboxReady.awaitNanos(remaining);
+                batch = outbox;
+                outbox = new RefreshMutationBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                outboxLock.unlock();
+            }
+            if (batch.isEmpty()) continue;
+            try {
+                List<String> payloads = batch.encode(origin, seq::incrementAndGet);
+                for (String payload : payloads) {
+                    jdbc.query(NOTIFY, (ResultSetExtractor<Void>) rs -> null, channel, payload);
+                }
+                sentMutations.increment(batch.mutations());
+                sentNotifications.increment(payloads.size());
+            } catch (RuntimeException e) {
+                // 보내지 못한 seq 는 수신 측에서 누락으로 보여 스냅샷 catch-up 으로 메워진다
+                log.warn("[RefreshReplication] notify failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void signal() {
+        outboxLock.lock();
+        try {
+            outboxReady.signalAll();
+        } finally {
+            outboxLock.unlock();
+        }
+    }
+
+    /** LISTEN → 스냅샷 → 알림 적용. 연결이 끊기면 backoff 후 처음부터(LISTEN 이 먼저라 그 사이 변경을 놓치지 않는다) */
+    private void listenLoop() {
+        while (running) {
+            try (Connection conn = dataSource.getConnection()) {
+                conn.setAutoCommit(true);
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + channel);
+                }
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                connected = true;
+                catchUpAt = 0;
+                catchUp();
+                while (running) {
+                    PGNotification[] notes = pg.getNotifications(waitMs());
+                    if (notes != null) {
+                        for (PGNotification n : notes) {
+                            if (receive(n.getParameter())) scheduleCatchUp();
+                        }
+                    }
+                    if (catchUpAt != 0 && System.nanoTime() - catchUpAt >= 0) {
+                        catchUpAt = 0;
+                        catchUp();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.warn("[RefreshReplication] listener disconnected: {}", e.getMessage());
+            } finally {
+                connected = false;
+            }
+            sleep(reconnectBackoffMs);
+        }
+    }
+
+    /** 다른 파드의 변경을 적용하고, 그 파드의 seq 가 건너뛰었으면 true. 자기 알림은 무시한다. */
+    boolean receive(String payload) {
+        if (payload.startsWith(origin + ":")) return false;
+        int[] count = new int[1];
+        RefreshMutationBatch.Header header = RefreshMutationBatch.apply(payload, new RefreshMutationBatch.Sink() {
+            @Override
+            public void save(long userId, long hi, long lo, long expMs) {
+                applySave(userId, hi, lo, expMs);
+                count[0]++;
+            }
+
+            @Override
+            public void remove(long userId, long hi, long lo) {
+                applyRemove(userId, hi, lo);
+                count[0]++;
+            }
+
+            @Override
+            public void removeAll(long userId) {
+                applyRemoveAll(userId);
+                count[0]++;
+            }
+        });
+        receivedNotifications.increment();
+        receivedMutations.increment(count[0]);
+        Long prev = lastSeq.put(header.origin(), header.seq());
+        return prev != null && header.seq() != prev + 1;
+    }
+
+    /** seq 누락 — 빠진 변경 중 다른 파드 버퍼에 있던 save 가 영속화될 때까지 기다렸다가 한 번만 다시 맞춘다 */
+    private void scheduleCatchUp() {
+        if (catchUpAt == 0) catchUpAt = System.nanoTime() + durable.visibilityLag().toNanos();
+    }
+
+    /** 예정된 catch-up 을 넘기지 않게 알림 대기 시간을 줄인다 (0 은 무한 대기라 최소 1ms) */
+    private int waitMs() {
+        if (catchUpAt == 0) return (int) listenTimeoutMs;
+        long remaining = TimeUnit.NANOSECONDS.toMillis(catchUpAt - System.nanoTime());
+        return (int) Math.max(1, Math.min(remaining, listenTimeoutMs));
+    }
+
+    /**
+     * 이 파드의 쓰기 버퍼를 먼저 내려 쓰고, refresh_tokens 의 살아 있는 행으로 새 로컬 맵을 채운 뒤
+     * journal 을 순서대로 다시 적용해 바꿔 끼운다. 적재 동안 조회는 이전 맵으로, 쓰기는 이전 맵 + journal 로 계속된다.
+     * save 는 적재 시작 visibility-lag 이전 것이면 다시 적용하지 않는다 — 그때 것은 영속화됐어야 하므로 스냅샷에 없으면
+     * 그 뒤 지워진 것이다(seq 누락 catch-up 은 누락 감지 후 visibility-lag 뒤라 놓친 remove 의 save 는 항상 이쪽).
+     */
+    void catchUp() {
+        durable.flush();
+        long start = System.nanoTime();
+        long saveFrom = start - lagNanos;
+        setLoadingSince(start);
+        InMemoryRefreshTokenStore next = new InMemoryRefreshTokenStore(maxSessionsPerUser, bucketMs, ops);
+        try {
+            durable.forEachLive(next::putIfAbsent);
+        } catch (RuntimeException e) {
+            setLoadingSince(0);
+            throw e;
+        }
+        applyLock.lock();
+        try {
+            for (Mutation m : journal) {
+                if (m.op() == Mutation.SAVE && m.atNanos() - saveFrom < 0
+                        && !durable.isBuffered(m.userId(), m.hi(), m.lo())) {
+                    continue;
+                }
+                m.applyTo(next);
+            }
+            evictedBefore += local.evictedCount();
+            local = next;
+            loadingSince = 0;
+            catchups.increment();
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    // --- 로컬 맵 변경: 적용과 journal 기록을 applyLock 안에서 ---
+
+    private void applySave(long userId, long hi, long lo, long expMs) {
+        apply(new Mutation(System.nanoTime(), Mutation.SAVE, userId, hi, lo, expMs));
+    }
+
+    private void applyRemove(long userId, long hi, long lo) {
+        apply(new Mutation(System.nanoTime(), Mutation.REMOVE, userId, hi, lo, 0));
+    }
+
+    private void applyRemoveAll(long userId) {
+        apply(new Mutation(System.nanoTime(), Mutation.REMOVE_ALL, userId, 0, 0, 0));
+    }
+
+    private void apply(Mutation m) {
+        applyLock.lock();
+        try {
+            m.applyTo(local);
+            journal.addLast(m);
+            // 적재 중이면 적재 시작 이전 visibility-lag 까지 남긴다 — 새 맵에 다시 적용해야 한다
+            long keepFrom = (loadingSince != 0 ? loadingSince : m.atNanos()) - journalNanos;
+            while (journal.peekFirst().atNanos() - keepFrom < 0) journal.pollFirst();
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    private void setLoadingSince(long nanos) {
+        applyLock.lock();
+        try {
+            loadingSince = nanos;
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    int journalSize() {
+        applyLock.lock();
+        try {
+            return journal.size();
+        } finally {
+            applyLock.unlock();
+        }
+    }
+
+    /** 로컬 맵에 적용한 변경 하나 — 같은 순서로 다시 적용하면 스냅샷 이후의 상태가 된다(모두 멱등) */
+    private record Mutation(long atNanos, byte op, long userId, long hi, long lo, long expMs) {
+        static final byte SAVE = 0, REMOVE = 1, REMOVE_ALL = 2;
+
+        void applyTo(InMemoryRefreshTokenStore map) {
+            switch (op) {
+                case SAVE -> map.putIfAbsent(userId, hi, lo, expMs);
+                case REMOVE -> map.remove(userId, hi, lo);
+                default -> map.revokeAll(userId);
+            }
+        }
+    }
+
+    private boolean postgres() {
+        try (Connection conn = dataSource.getConnection()) {
+            return conn.isWrapperFor(PGConnection.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("refresh-store.replicated: cannot inspect datasource", e);
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meters, String name, String direction) {
+        return Counter.builder(name).tag("direction", direction).register(meters);
+    }
+}
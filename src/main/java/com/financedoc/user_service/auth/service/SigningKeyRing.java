@@ -0,0 +1,338 @@
+package com.financedoc.user_service.auth.service;
+
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 비대칭 JWT 서명 키 집합(ES256/RS256) — kid 별 공개키를 JWKS 로 게시해 게이트웨이/타 서비스가 비밀 공유 없이 로컬 검증한다.
+ * - 키는 jwt_signing_keys 에 두고 모든 레플리카가 refresh-interval 마다 다시 읽는다
+ * - 회전: 현재 키가 rotation-interval 에 다다르기 publish-ahead 전에 새 키를 만들어 JWKS 에 먼저 게시하고,
+ *   active_from 이 지나면 새 키로 서명한다 (JWKS 캐시 max-age 는 publish-ahead 보다 짧아야 한다)
+ * - 은퇴한 키는 토큰 최대 유효기간(overlap) 동안 검증/JWKS 에 남았다가 삭제된다
+ * - 모르는 kid 가 오면(다른 파드가 막 회전) reload-backoff 간격으로 한 번 다시 읽는다
+ * jwt.signing.algorithm=HS256(기본)이면 비활성 — TokenService 가 기존 HMAC 경로를 쓴다.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SigningKeyRing {
+
+    public enum Alg { HS256, ES256, RS256 }
+
+    /** 현재 서명 키 — 토큰 헤더 kid 와 같은 키로 서명하도록 한 쌍으로 꺼낸다 */
+    public record Signer(String kid, Algorithm algorithm) {}
+
+    /** 직렬화해 둔 JWKS 본문과 ETag */
+    public record Jwks(String json, String etag) {}
+
+    private record Key(String kid, PublicKey publicKey, long activeFrom, Algorithm signer) {}
+
+    private record Snapshot(List<Key> keys, Map<String, Key> byKid, Key signer, Jwks jwks) {
+        static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), null, null);
+    }
+
+    private static final String SELECT =
+            "SELECT kid, alg, public_key, private_key, active_from FROM jwt_signing_keys ORDER BY active_from, created_at";
+    private static final String INSERT =
+            "INSERT INTO jwt_signing_keys (kid, alg, public_key, private_key, active_from, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String DELETE = "DELETE FROM jwt_signing_keys WHERE kid = ?";
+
+    private static final int GCM_IV_BYTES = 12;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final JdbcTemplate jdbc;
+    private final Alg alg;
+    private final long rotationMs;
+    private final long publishAheadMs;
+    private final long overlapMs;
+    private final long reloadBackoffMs;
+    private final SecretKey kek;
+    private final Algorithm verification;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile long lastReloadMs;
+
+    public SigningKeyRing(
+            JdbcTemplate jdbc,
+            @Value("${jwt.signing.algorithm:HS256}") Alg alg,
+            @Value("${jwt.signing.rotation-interval-hours:24}") long rotationHours,
+            @Value("${jwt.signing.publish-ahead-seconds:600}") long publishAheadSeconds,
+            @Value("${jwt.signing.reload-backoff-ms:5000}") long reloadBackoffMs,
+            @Value("${jwt.access-token-validity}") long accessValidityMs,
+            @Value("${jwt.refresh-token-validity}") long refreshValidityMs,
+            @Value("${jwt.secret}") String secret
+    ) {
+        this.jdbc = jdbc;
+        this.alg = alg;
+        this.rotationMs = rotationHours * 3_600_000;
+        this.publishAheadMs = publishAheadSeconds * 1_000;
+        this.overlapMs = Math.max(accessValidityMs, refreshValidityMs);
+        this.reloadBackoffMs = reloadBackoffMs;
+        this.kek = new SecretKeySpec(sha256("jwt-signing-key:" + secret), "AES");
+        this.verification = switch (alg) {
+            case HS256 -> null;
+            case ES256 -> Algorithm.ECDSA256(new EcVerifyProvider());
+            case RS256 -> Algorithm.RSA256(new RsaVerifyProvider());
+        };
+        if (alg != Alg.HS256 && rotationMs <= publishAheadMs) {
+            throw new IllegalStateException("jwt.signing.rotation-interval-hours must exceed publish-ahead-seconds");
+        }
+    }
+
+    public boolean asymmetric() {
+        return alg != Alg.HS256;
+    }
+
+    /** kid 로 공개키를 찾는 검증용 Algorithm (JWTVerifier 하나로 모든 키 검증) */
+    public Algorithm verificationAlgorithm() {
+        return verification;
+    }
+
+    public Signer signer() {
+        Key k = snapshot.signer;
+        if (k == null) throw new IllegalStateException("No active JWT signing key");
+        return new Signer(k.kid, k.signer);
+    }
+
+    /** 비활성(HS256)이면 null */
+    public Jwks jwks() {
+        return snapshot.jwks;
+    }
+
+    @PostConstruct
+    void init() {
+        if (asymmetric()) refresh();
+    }
+
+    /** 키 다시 읽기 + 필요 시 회전/만료 키 삭제. 여러 레플리카가 동시에 회전해도 키가 하나 더 생길 뿐 안전하다. */
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        if (!asymmetric()) return;
+        long now = System.currentTimeMillis();
+        List<Key> keys = load();
+        Key newest = keys.isEmpty() ? null : keys.get(keys.size() - 1);
+        if (newest == null) {
+            insert(now);                                   // 첫 기동 — 바로 서명에 쓴다
+            keys = load();
+        } else if (newest.activeFrom <= now && now >= newest.activeFrom + rotationMs - publishAheadMs) {
+            insert(now + publishAheadMs);                  // 다음 키를 미리 게시
+            keys = load();
+            log.info("[JWT] published next signing key, active in {}s", publishAheadMs / 1000);
+        }
+        keys = prune(keys, now);
+        install(keys, now);
+    }
+
+    private Key lookup(String kid) {
+        if (kid == null) return null;
+        Key k = snapshot.byKid.get(kid);
+        if (k == null && System.currentTimeMillis() - lastReloadMs >= reloadBackoffMs) {
+            synchronized (this) {
+                k = snapshot.byKid.get(kid);
+                if (k == null && System.currentTimeMillis() - lastReloadMs >= reloadBackoffMs) {
+                    install(load(), System.currentTimeMillis());
+                    k = snapshot.byKid.get(kid);
+                }
+            }
+        }
+        return k;
+    }
+
+    /** 다음 키가 활성화된 뒤 overlap 이 지난 키는 어떤 유효 토큰도 서명하지 않았으므로 삭제 */
+    private List<Key> prune(List<Key> keys, long now) {
+        List<Key> kept = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Key next = i + 1 < keys.size() ? keys.get(i + 1) : null;
+            if (next != null && next.activeFrom <= now && now > next.activeFrom + overlapMs) {
+                jdbc.update(DELETE, keys.get(i).kid);
+                log.info("[JWT] retired signing key {}", keys.get(i).kid);
+            } else {
+                kept.add(keys.get(i));
+            }
+        }
+        return kept;
+    }
+
+    private void install(List<Key> keys, long now) {
+        Map<String, Key> byKid = new HashMap<>(keys.size() * 2);
+        Key signer = null;
+        for (Key k : keys) {
+            byKid.put(k.kid, k);
+            if (k.activeFrom <= now) signer = k;           // active_from 순 정렬 — 마지막 활성 키
+        }
+        if (signer == null && !keys.isEmpty()) signer = keys.get(0);
+        snapshot = new Snapshot(List.copyOf(keys), byKid, signer, toJwks(keys));
+        lastReloadMs = System.currentTimeMillis();
+    }
+
+    private List<Key> load() {
+        return jdbc.query(SELECT, (rs, i) -> {
+            Alg keyAlg = Alg.valueOf(rs.getString("alg"));
+            try {
+                KeyFactory kf = KeyFactory.getInstance(keyAlg == Alg.ES256 ? "EC" : "RSA");
+                PublicKey pub = kf.generatePublic(new X509EncodedKeySpec(rs.getBytes("public_key")));
+                PrivateKey priv = kf.generatePrivate(new PKCS8EncodedKeySpec(decrypt(rs.getBytes("private_key"))));
+                Algorithm signer = keyAlg == Alg.ES256
+                        ? Algorithm.ECDSA256((ECPublicKey) pub, (ECPrivateKey) priv)
+                        : Algorithm.RSA256((RSAPublicKey) pub, (RSAPrivateKey) priv);
+                return new Key(rs.getString("kid"), pub, rs.getLong("active_from"), signer);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unreadable JWT signing key " + rs.getString("kid"), e);
+            }
+        }).stream().filter(k -> k.signer.getName().equals(alg.name())).toList();
+    }
+
+    private void insert(long activeFrom) {
+        try {
+            KeyPairGenerator gen;
+            if (alg == Alg.ES256) {
+                gen = KeyPairGenerator.getInstance("EC");
+                gen.initialize(new ECGenParameterSpec("secp256r1"), RANDOM);
+            } else {
+                gen = KeyPairGenerator.getInstance("RSA");
+                gen.initialize(2048, RANDOM);
+            }
+            KeyPair pair = gen.generateKeyPair();
+            jdbc.update(INSERT, UUID.randomUUID().toString(), alg.name(),
+                    pair.getPublic().getEncoded(), encrypt(pair.getPrivate().getEncoded()),
+                    activeFrom, System.currentTimeMillis());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT signing key generation failed", e);
+        }
+    }
+
+    // --- JWKS ---
+
+    private static Jwks toJwks(List<Key> keys) {
+        StringBuilder sb = new StringBuilder(256 * (keys.size() + 1)).append("{\"keys\":[");
+        for (int i = 0; i < keys.size(); i++) {
+            Key k = keys.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"kid\":\"").append(k.kid).append("\",\"use\":\"sig\"");
+            if (k.publicKey instanceof ECPublicKey ec) {
+                sb.append(",\"kty\":\"EC\",\"alg\":\"ES256\",\"crv\":\"P-256\"")
+                        .append(",\"x\":\"").append(b64(unsigned(ec.getW().getAffineX(), 32))).append('"')
+                        .append(",\"y\":\"").append(b64(unsigned(ec.getW().getAffineY(), 32))).append('"');
+            } else if (k.publicKey instanceof RSAPublicKey rsa) {
+                sb.append(",\"kty\":\"RSA\",\"alg\":\"RS256\"")
+                        .append(",\"n\":\"").append(b64(unsigned(rsa.getModulus(), 0))).append('"')
+                        .append(",\"e\":\"").append(b64(unsigned(rsa.getPublicExponent(), 0))).append('"');
+            }
+            sb.append('}');
+        }
+        String json = sb.append("]}").toString();
+        String etag = '"' + HexFormat.of().formatHex(sha256(json), 0, 8) + '"';
+        return new Jwks(json, etag);
+    }
+
+    /** 부호 바이트 없는 big-endian. size > 0 이면 앞을 0 으로 채운 고정 길이 */
+    private static byte[] unsigned(BigInteger v, int size) {
+        byte[] b = v.toByteArray();
+        if (b.length > 1 && b[0] == 0) b = Arrays.copyOfRange(b, 1, b.length);
+        if (size > 0 && b.length < size) {
+            byte[] padded = new byte[size];
+            System.arraycopy(b, 0, padded, size - b.length, b.length);
+            b = padded;
+        }
+        return b;
+    }
+
+    private static String b64(byte[] b) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(b);
+    }
+
+    // --- 개인키 암호화 (jwt.secret 유도 키) ---
+
+    private byte[] encrypt(byte[] plain) throws GeneralSecurityException {
+        byte[] iv = new byte[GCM_IV_BYTES];
+        RANDOM.nextBytes(iv);
+        Cipher c = Cipher.getInstance("AES/GCM/NoPadding");
+        c.init(Cipher.ENCRYPT_MODE, kek, new GCMParameterSpec(128, iv));
+        byte[] ct = c.doFinal(plain);
+        byte[] out = Arrays.copyOf(iv, GCM_IV_BYTES + ct.length);
+        System.arraycopy(ct, 0, out, GCM_IV_BYTES, ct.length);
+        return out;
+    }
+
+    private byte[] decrypt(byte[] stored) throws GeneralSecurityException {
+        Cipher c = Cipher.getInstance("AES/GCM/NoPadding");
+        c.init(Cipher.DECRYPT_MODE, kek, new GCMParameterSpec(128, stored, 0, GCM_IV_BYTES));
+        return c.doFinal(stored, GCM_IV_BYTES, stored.length - GCM_IV_BYTES);
+    }
+
+    private static byte[] sha256(String s) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // --- 검증용 키 조회 (서명은 Signer 로만 한다) ---
+
+    private final class EcVerifyProvider implements ECDSAKeyProvider {
+        @Override
+        public ECPublicKey getPublicKeyById(String kid) {
+            Key k = lookup(kid);
+            return k != null && k.publicKey instanceof ECPublicKey ec ? ec : null;
+        }
+
+        @Override
+        public ECPrivateKey getPrivateKey() { return null; }
+
+        @Override
+        public String getPrivateKeyId() { return null; }
+    }
+
+    private final class RsaVerifyProvider implements RSAKeyProvider {
+        @Override
+        public RSAPublicKey getPublicKeyById(String kid) {
+            Key k = lookup(kid);
+            return k != null && k.publicKey instanceof RSAPublicKey rsa ? rsa : null;
+        }
+
+        @Override
+        public RSAPrivateKey getPrivateKey() { return null; }
+
+        @Override
+        public String getPrivateKeyId() { return null; }
+    }
+}
@@ -0,0 +1,19 @@
+package com.financedoc.user_service.auth.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/** 토큰 원문 대신 캐시 키로 쓰는 SHA-256 다이제스트(32바이트) */
+record TokenDigest(long h0, long h1, long h2, long h3) {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try { return MessageDigest.getInstance("SHA-256"); }
+        catch (NoSuchAlgorithmException e) { throw new IllegalStateException(e); }
+    });
+
+    static TokenDigest of(String token) {
+        ByteBuffer d = ByteBuffer.wrap(SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new TokenDigest(d.getLong(), d.getLong(), d.getLong(), d.getLong());
+    }
+}
@@ -0,0 +1,121 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.repository.TokenEpochView;
+import com.financedoc.user_service.auth.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 사용자별 토큰 not-before epoch — iat 가 이보다 이른 access/refresh 토큰은 모두 무효.
+ * - 전체 폐기는 users.tokens_not_before 를 올리는 UPDATE 한 문장 (사용자 여러 명도 한 문장), jti 를 훑지 않는다
+ * - 검사는 로컬 long→long 맵 조회 한 번 (LongLongMap) — 요청 경로에서 DB 를 읽지 않는다
+ * - 다른 레플리카의 폐기는 poll-interval 마다 idx_users_tokens_not_before 로 최근 변경분만 읽어 합친다
+ * - epoch 가 토큰 최대 유효기간보다 오래되면 그 이전 토큰은 이미 만료 — 맵에서 빼서 크기를 최근 폐기 수로 유지
+ * epoch 는 초 단위이고 "폐기 시각 + 1초"로 기록한다 — 같은 초에 폐기 직전 발급된 토큰도 막는다.
+ * 폐기 직후 재로그인/회전 토큰은 TokenService 가 iat 를 epoch 이상으로 발급해 거부되지 않는다. 지표: token.epochs.size
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class TokenEpochs {
+
+    private final UserRepository users;
+    private final long horizonSeconds;     // 토큰 최대 유효기간
+    private final long pollOverlapSeconds; // 레플리카 간 시계 차이 + 커밋 지연 여유
+    private final LongLongMap epochs = new LongLongMap(1024);
+
+    private volatile long polledUpTo;      // 다음 poll 의 since (epoch seconds)
+
+    public TokenEpochs(
+            UserRepository users,
+            @Value("${jwt.access-token-validity}") long accessValidityMs,
+            @Value("${jwt.refresh-token-validity}") long refreshValidityMs,
+            @Value("${token-epochs.poll-overlap-seconds:30}") long pollOverlapSeconds,
+            MeterRegistry meters
+    ) {
+        this.users = users;
+        this.horizonSeconds = Math.max(accessValidityMs, refreshValidityMs) / 1000 + 1;
+        this.pollOverlapSeconds = pollOverlapSeconds;
+        Gauge.builder("token.epochs.size", epochs, LongLongMap::size)
+                .description("Users with a live token not-before epoch")
+                .register(meters);
+    }
+
+    @PostConstruct
+    void init() {
+        polledUpTo = nowSeconds() - horizonSeconds;
+        poll();
+    }
+
+    /** 사용자의 not-before (epoch seconds), 없으면 0 */
+    public long notBefore(long userId) {
+        return epochs.get(userId);
+    }
+
+    /** issuedAt 이 사용자의 not-before 보다 이르면 true — 게이트웨이 등 검증 측도 같은 규칙을 쓴다 */
+    public boolean isRevoked(long userId, Instant issuedAt) {
+        long nb = epochs.get(userId);
+        if (nb == 0) return false;
+        return issuedAt == null || issuedAt.getEpochSecond() < nb;
+    }
+
+    /**
+     * 사용자(들)의 모든 토큰 폐기 — 여러 명(사고 대응 등)도 UPDATE 한 문장. 로컬 맵은 커밋 이후 반영.
+     * 호출 측은 트랜잭션 밖에서 부른다(회전은 Propagation.NEVER) — 뒤이은 401 로 롤백될 트랜잭션에 섞이지 않고,
+     * REQUIRES_NEW 처럼 바깥 트랜잭션의 커넥션을 쥔 채 커넥션을 하나 더 잡아 풀을 교착시키지도 않는다.
+     */
+    @Transactional
+    public long revokeAll(Collection<Long> userIds) {
+        long epoch = nowSeconds() + 1;
+        if (userIds.isEmpty()) return epoch;
+        users.raiseTokensNotBefore(userIds, epoch);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userIds, epoch);
+                }
+            });
+        } else {
+            apply(userIds, epoch);
+        }
+        return epoch;
+    }
+
+    /** since 이후로 올라간 epoch (검증 측 증분 동기화용) */
+    @Transactional(readOnly = true)
+    public List<TokenEpochView> changedSince(long sinceSeconds) {
+        return users.findTokenEpochsSince(Math.max(sinceSeconds, nowSeconds() - horizonSeconds));
+    }
+
+    /** 다른 레플리카의 폐기 반영 + 만료된 epoch 정리. 겹치는 구간은 다시 읽어도 max 로 합쳐져 안전하다. */
+    @Scheduled(fixedDelayString = "${token-epochs.poll-interval-ms:5000}")
+    public void poll() {
+        long now = nowSeconds();
+        long since = polledUpTo;
+        for (TokenEpochView e : users.findTokenEpochsSince(since)) {
+            epochs.putMax(e.userId(), e.notBefore());
+        }
+        polledUpTo = now - pollOverlapSeconds;
+        epochs.removeBelow(now - horizonSeconds);
+    }
+
+    private void apply(Collection<Long> userIds, long epoch) {
+        for (Long id : userIds) epochs.putMax(id, epoch);
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
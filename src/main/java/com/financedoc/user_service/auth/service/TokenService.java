@@ -1,63 +1,226 @@
 package com.financedoc.user_service.auth.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.financedoc.user_service.auth.timing.RequestTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * 지표: jwt.sign{type=access|refresh}, jwt.verify 타이머, 검증 캐시는 cache.*{cache=jwt.verify}
+ * 요청 중이면 같은 값을 RequestTiming 구간 jwt_sign / jwt_verify 로도 남긴다.
+ * jwt.signing.algorithm 이 ES256/RS256 이면 SigningKeyRing 의 현재 키로 서명하고 kid 헤더를 붙인다.
+ * 전환 기간에는 jwt.signing.accept-legacy-hs256=true 로 기존 HS256 토큰도 검증한다.
+ * HS256 모드의 발급은 기본적으로 HmacTokenMinter(jwt.fast-mint.enabled)로 — 결과는 auth0 경로와 같은 클레임/서명.
+ * iat 는 사용자의 not-before(TokenEpochs) 이상으로 발급한다 — 전체 폐기 직후 같은 초의 재로그인 토큰이 거부되지 않게.
+ * not-before 는 "폐기 시각 + 1초"라 iat 가 최대 1초 앞설 수 있으므로 검증은 iat 1초 여유를 둔다.
+ */
 @Service
 public class TokenService {
 
-    private final Algorithm alg;
+    private final Algorithm alg;           // HS256 — 비대칭 모드에선 레거시 검증에만 사용
+    private final SigningKeyRing keys;     // 비대칭 모드가 아니면 null
     private final long accessValidityMs;   // jwt.access-token-validity
     private final long refreshValidityMs;  // jwt.refresh-token-validity
     private final String issuer;           // jwt.issuer
+    private final JWTVerifier verifier;    // 스레드 안전 — 한 번만 생성
+    private final JWTVerifier legacyVerifier; // 비대칭 모드 + 레거시 허용일 때만
+    private final Cache<TokenDigest, DecodedJWT> verified; // jwt.verify-cache.enabled=false 이면 null
+    private final HmacTokenMinter minter;  // HS256 + jwt.fast-mint.enabled 일 때만
+    private final TokenEpochs epochs;      // 없으면(벤치마크/테스트) iat = 현재 시각
 
+    private final Timer signAccessTimer;
+    private final Timer signRefreshTimer;
+    private final Timer verifyTimer;
+
+    /** HS256 전용 (벤치마크/테스트) */
+    public TokenService(String secret, long accessValidityMs, long refreshValidityMs, String issuer,
+                        boolean verifyCacheEnabled, long verifyCacheMaxSize, MeterRegistry meters) {
+        this(secret, accessValidityMs, refreshValidityMs, issuer, verifyCacheEnabled, verifyCacheMaxSize,
+                true, false, null, null, meters);
+    }
+
+    @Autowired
     public TokenService(
             @Value("${jwt.secret}") String secret,
             @Value("${jwt.access-token-validity}") long accessValidityMs,
             @Value("${jwt.refresh-token-validity}") long refreshValidityMs,
-            @Value("${jwt.issuer}") String issuer
+            @Value("${jwt.issuer}") String issuer,
+            @Value("${jwt.verify-cache.enabled:false}") boolean verifyCacheEnabled,
+            @Value("${jwt.verify-cache.max-size:10000}") long verifyCacheMaxSize,
+            @Value("${jwt.fast-mint.enabled:true}") boolean fastMint,
+            @Value("${jwt.signing.accept-legacy-hs256:true}") boolean acceptLegacyHs256,
+            SigningKeyRing keys,
+            TokenEpochs epochs,
+            MeterRegistry meters
     ) {
         if (secret == null || secret.isBlank()) {
             throw new IllegalStateException("jwt.secret is required");
         }
         this.alg = Algorithm.HMAC256(secret);
+        this.keys = keys != null && keys.asymmetric() ? keys : null;
         this.accessValidityMs = accessValidityMs;
         this.refreshValidityMs = refreshValidityMs;
         this.issuer = issuer;
+        this.epochs = epochs;
+        if (this.keys != null) {
+            this.verifier = JWT.require(this.keys.verificationAlgorithm()).withIssuer(issuer).acceptIssuedAt(1).build();
+            this.legacyVerifier = acceptLegacyHs256 ? JWT.require(alg).withIssuer(issuer).acceptIssuedAt(1).build() : null;
+        } else {
+            this.verifier = JWT.require(alg).withIssuer(issuer).acceptIssuedAt(1).build();
+            this.legacyVerifier = null;
+        }
+        this.minter = this.keys == null && fastMint ? new HmacTokenMinter(secret, issuer) : null;
+        this.verified = verifyCacheEnabled
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifyCacheMaxSize)
+                        .expireAfter(new UntilTokenExpiry())
+                        .recordStats()
+                        .build()
+                : null;
+        if (verified != null) {
+            CaffeineCacheMetrics.monitor(meters, verified, "jwt.verify");
+        }
+        this.signAccessTimer = signTimer(meters, "access");
+        this.signRefreshTimer = signTimer(meters, "refresh");
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT verification latency (cache hits included)")
+                .publishPercentileHistogram()
+                .register(meters);
     }
 
     public String createAccessToken(Long userId) {
-        Instant now = Instant.now();
-        return JWT.create()
-                .withIssuer(issuer)
-                .withSubject(String.valueOf(userId))
-                .withIssuedAt(Date.from(now))
-                .withExpiresAt(Date.from(now.plusMillis(accessValidityMs)))
-                .sign(alg);
+        return timed(signAccessTimer, "jwt_sign", () -> {
+            long nowMs = issueTimeMs(userId);
+            if (minter != null && userId != null && userId >= 0) {
+                return minter.access(userId, nowMs, accessValidityMs);
+            }
+            Instant now = Instant.ofEpochMilli(nowMs);
+            return sign(JWT.create()
+                    .withIssuer(issuer)
+                    .withSubject(String.valueOf(userId))
+                    .withIssuedAt(Date.from(now))
+                    .withExpiresAt(Date.from(now.plusMillis(accessValidityMs))));
+        });
     }
 
     public String createRefreshToken(Long userId, String jti) {
-        Instant now = Instant.now();
-        return JWT.create()
-                .withIssuer(issuer)
-                .withSubject(String.valueOf(userId))
-                .withJWTId(jti)
-                .withClaim("typ", "refresh")
-                .withIssuedAt(Date.from(now))
-                .withExpiresAt(Date.from(now.plusMillis(refreshValidityMs)))
-                .sign(alg);
+        return timed(signRefreshTimer, "jwt_sign", () -> {
+            long nowMs = issueTimeMs(userId);
+            if (minter != null && userId != null && userId >= 0 && HmacTokenMinter.plainJti(jti)) {
+                return minter.refresh(userId, jti, nowMs, refreshValidityMs);
+            }
+            Instant now = Instant.ofEpochMilli(nowMs);
+            return sign(JWT.create()
+                    .withIssuer(issuer)
+                    .withSubject(String.valueOf(userId))
+                    .withJWTId(jti)
+                    .withClaim("typ", "refresh")
+                    .withIssuedAt(Date.from(now))
+                    .withExpiresAt(Date.from(now.plusMillis(refreshValidityMs))));
+        });
+    }
+
+    /** 발급 시각 — 사용자의 not-before(초)보다 이르면 not-before 로 올린다 (exp 도 같은 기준) */
+    private long issueTimeMs(Long userId) {
+        long now = System.currentTimeMillis();
+        if (epochs == null || userId == null) return now;
+        return Math.max(now, epochs.notBefore(userId) * 1000);
+    }
+
+    public Duration refreshTokenTtl() {
+        return Duration.ofMillis(refreshValidityMs);
     }
 
+    /** 검증 실패는 캐시하지 않는다(예외 그대로 전파). 캐시 hit 은 exp 이전에만 가능. */
     public DecodedJWT verify(String token) {
-        return JWT.require(alg)
-                .withIssuer(issuer)
-                .build()
-                .verify(token);
+        return timed(verifyTimer, "jwt_verify", () -> verified == null
+                ? verifyUncached(token)
+                : verified.get(TokenDigest.of(token), k -> verifyUncached(token)));
+    }
+
+    private String sign(JWTCreator.Builder jwt) {
+        if (keys == null) {
+            return jwt.sign(alg);
+        }
+        SigningKeyRing.Signer signer = keys.signer();
+        return jwt.withKeyId(signer.kid()).sign(signer.algorithm());
+    }
+
+    private DecodedJWT verifyUncached(String token) {
+        if (legacyVerifier == null) {
+            return verifier.verify(token);
+        }
+        DecodedJWT decoded = JWT.decode(token);
+        return ("HS256".equals(decoded.getAlgorithm()) ? legacyVerifier : verifier).verify(decoded);
+    }
+
+    public long verifyCacheHits() {
+        return verified == null ? 0 : verified.stats().hitCount();
+    }
+
+    public long verifyCacheMisses() {
+        return verified == null ? 0 : verified.stats().missCount();
+    }
+
+    public long verifyCacheSize() {
+        return verified == null ? 0 : verified.estimatedSize();
+    }
+
+    private static <T> T timed(Timer timer, String span, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            RequestTiming t = RequestTiming.current();
+            if (t != null) t.add(span, elapsed);
+        }
+    }
+
+    private static Timer signTimer(MeterRegistry meters, String type) {
+        return Timer.builder("jwt.sign")
+                .description("JWT signing latency")
+                .tag("type", type)
+                .publishPercentileHistogram()
+                .register(meters);
+    }
+
+    /** 캐시 항목은 토큰의 exp 시각에 만료 (exp 없는 토큰은 캐시에 남기지 않음) */
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, DecodedJWT> {
+        @Override
+        public long expireAfterCreate(TokenDigest key, DecodedJWT jwt, long currentTime) {
+            Date exp = jwt.getExpiresAt();
+            if (exp == null) return 0;
+            long remainingMs = exp.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, DecodedJWT jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
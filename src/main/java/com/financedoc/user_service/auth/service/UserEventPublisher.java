@@ -0,0 +1,14 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.repository.UserEvent;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트를 하위 소비자에게 전달. OutboxRelay 가 배치 단위로 호출한다.
+ * 예외를 던지면 배치가 아웃박스에 남아 다음 주기에 다시 전달된다(at-least-once — 소비자는 UserEvent.id 로 중복 제거).
+ */
+public interface UserEventPublisher {
+
+    void publish(List<UserEvent> events);
+}
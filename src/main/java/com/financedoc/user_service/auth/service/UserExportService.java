@@ -0,0 +1,74 @@
+package com.financedoc.user_service.auth.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.financedoc.user_service.auth.repository.UserExportView;
+import com.financedoc.user_service.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * users 테이블 NDJSON 내보내기(데이터 웨어하우스 동기화용).
+ * 전체는 id keyset, 증분(since)은 (updated_at, id) keyset 으로 PAGE_SIZE 행씩 프로젝션 조회 → 바로 출력 스트림에 쓴다.
+ * 엔티티를 만들지 않으므로 영속성 컨텍스트에 쌓이는 것이 없고, 힙 사용량은 테이블 크기와 무관하다.
+ * 출력은 페이지 단위로 flush — ObjectMapper 기본값(FLUSH_AFTER_WRITE_VALUE)이면 행마다 소켓 쓰기가 된다.
+ */
+@Service
+@Lazy   // 관리자 경로 전용 — AdminUserController 와 함께 첫 요청 때 생성
+public class UserExportService {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final UserRepository users;
+    private final ObjectMapper json;
+    private final ObjectWriter writer;
+    private final long timeoutMs;
+
+    public UserExportService(
+            UserRepository users,
+            ObjectMapper json,
+            @Value("${user-export.timeout-ms:1800000}") long timeoutMs
+    ) {
+        this.users = users;
+        this.json = json;
+        this.writer = json.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.timeoutMs = timeoutMs;
+    }
+
+    /** 스트리밍 응답의 비동기 타임아웃 — 전체 내보내기는 MVC 기본값(~30s)을 넘긴다 */
+    public long timeoutMs() {
+        return timeoutMs;
+    }
+
+    /** @param since null 이면 전체, 아니면 updatedAt >= since 인 행만(updatedAt 순) */
+    public void writeNdjson(Instant since, OutputStream out) throws IOException {
+        try (JsonGenerator g = json.getFactory().createGenerator(out)) {
+            g.setRootValueSeparator(new SerializedString("\n"));
+            long afterId = 0;
+            Instant afterAt = since;
+            List<UserExportView> page;
+            do {
+                page = since == null
+                        ? users.findExportPage(afterId, Limit.of(PAGE_SIZE))
+                        : users.findExportPageSince(afterAt, afterId, Limit.of(PAGE_SIZE));
+                for (UserExportView u : page) {
+                    writer.writeValue(g, u);
+                    afterId = u.id();
+                    afterAt = u.updatedAt();
+                }
+                g.flush();
+            } while (page.size() == PAGE_SIZE);
+            g.writeRaw('\n');
+        }
+    }
+}
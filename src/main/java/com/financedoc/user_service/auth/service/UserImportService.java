@@ -0,0 +1,178 @@
+package com.financedoc.user_service.auth.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedoc.user_service.auth.dto.request.UserImportRow;
+import com.financedoc.user_service.auth.dto.response.UserImportResponse;
+import com.financedoc.user_service.auth.entity.User;
+import com.financedoc.user_service.auth.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 레거시 계정 NDJSON 일괄 이관.
+ * 입력을 한 줄씩 읽어 BATCH_SIZE 행마다 한 트랜잭션으로 user_id 기준 upsert 후 flush/clear —
+ * 파일 크기와 무관하게 메모리는 한 배치 분량만 쓴다. INSERT 는 hibernate.jdbc.batch_size 로 묶인다.
+ * 갱신된 기존 회원은 배치 커밋 이후 /auth/me 프로필 캐시에서 무효화한다.
+ * 제약 위반(kakao_id 중복 등)으로 배치가 롤백되면 그 배치만 한 행씩 다시 써서 위반 행만 건너뛰고,
+ * 건너뛴 줄 번호를 결과에 담는다. JSON 이 깨진 줄에서는 그 앞까지 커밋하고 멈춰 이어서 보낼 줄 번호를 돌려준다.
+ */
+@Slf4j
+@Service
+@Lazy   // 관리자 경로 전용 — AdminUserController 와 함께 첫 요청 때 생성
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int LOG_EVERY_BATCHES = 100;
+    private static final int MAX_REPORTED_SKIPS = 1_000;
+
+    private final UserRepository users;
+    private final EntityManager em;
+    private final TransactionTemplate tx;
+    private final ObjectMapper json;
+    private final UserProfileCache profiles;
+
+    public UserImportResponse importNdjson(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        long rows = 0, inserted = 0, skipped = 0;
+        List<Long> skippedLines = new ArrayList<>();
+        Long resumeFromLine = null;
+        int batches = 0;
+
+        try (MappingIterator<UserImportRow> it = json.readerFor(UserImportRow.class).readValues(in)) {
+            List<UserImportRow> batch = new ArrayList<>(BATCH_SIZE);
+            List<Long> lines = new ArrayList<>(BATCH_SIZE);
+            while (true) {
+                try {
+                    if (!it.hasNextValue()) break;
+                    batch.add(it.nextValue());
+                } catch (JsonProcessingException e) {
+                    // 깨진 줄 뒤로는 파서 위치를 믿을 수 없다 — 앞까지만 쓰고 이 줄부터 다시 받는다
+                    resumeFromLine = (long) it.getParser().currentLocation().getLineNr();
+                    log.warn("[UserImport] malformed row at line {}: {}", resumeFromLine, e.getOriginalMessage());
+                    break;
+                }
+                lines.add((long) it.getParser().currentLocation().getLineNr());
+                if (batch.size() == BATCH_SIZE) {
+                    BatchResult r = writeBatchOrRows(batch, lines);
+                    rows += batch.size();
+                    inserted += r.inserted();
+                    skipped += report(r.skippedLines(), skippedLines);
+                    batch.clear();
+                    lines.clear();
+                    if (++batches % LOG_EVERY_BATCHES == 0) {
+                        log.info("[UserImport] {} rows, {} rows/s", rows, rowsPerSecond(rows, start));
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                BatchResult r = writeBatchOrRows(batch, lines);
+                rows += batch.size();
+                inserted += r.inserted();
+                skipped += report(r.skippedLines(), skippedLines);
+            }
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        log.info("[UserImport] done: {} rows ({} inserted, {} skipped) in {} ms", rows, inserted, skipped, elapsedMs);
+        return new UserImportResponse(rows, inserted, rows - inserted - skipped, skipped, skippedLines,
+                resumeFromLine, elapsedMs, rowsPerSecond(rows, start));
+    }
+
+    private record BatchResult(int inserted, List<Long> skippedLines) {}
+
+    /** 배치 한 트랜잭션이 제약 위반으로 롤백되면 같은 행들을 한 행씩 다시 써서 위반 행만 뺀다 */
+    private BatchResult writeBatchOrRows(List<UserImportRow> batch, List<Long> lines) {
+        try {
+            return new BatchResult(writeBatch(batch), List.of());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("[UserImport] batch at lines {}-{} rejected, retrying row by row: {}",
+                    lines.get(0), lines.get(lines.size() - 1), e.getMostSpecificCause().getMessage());
+        }
+        int inserted = 0;
+        List<Long> skipped = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                inserted += writeBatch(List.of(batch.get(i)));
+            } catch (DataIntegrityViolationException e) {
+                skipped.add(lines.get(i));
+            }
+        }
+        return new BatchResult(inserted, skipped);
+    }
+
+    /** 건너뛴 줄 번호는 응답 크기를 위해 MAX_REPORTED_SKIPS 개까지만 싣는다 */
+    private static int report(List<Long> lines, List<Long> reported) {
+        for (Long line : lines) {
+            if (reported.size() == MAX_REPORTED_SKIPS) break;
+            reported.add(line);
+        }
+        return lines.size();
+    }
+
+    /** @return 새로 INSERT 된 행 수 */
+    private int writeBatch(List<UserImportRow> batch) {
+        Integer inserted = tx.execute(status -> {
+            Map<String, User> existing = users.findAllByUserIdIn(batch.stream()
+                            .map(UserImportRow::getUserId).filter(Objects::nonNull).toList())
+                    .stream().collect(Collectors.toMap(User::getUserId, Function.identity(), (a, b) -> a, HashMap::new));
+            int created = 0;
+            List<Long> updated = new ArrayList<>();
+            Instant now = Instant.now();
+            for (UserImportRow row : batch) {
+                User u = row.getUserId() == null ? null : existing.get(row.getUserId());
+                if (u == null) {
+                    u = User.builder()
+                            .userId(row.getUserId() != null ? row.getUserId() : User.generateUserId())
+                            .kakaoId(row.getKakaoId())
+                            .email(row.getEmail())
+                            .nickname(row.getNickname())
+                            .profileImageUrl(row.getProfileImageUrl())
+                            .password(row.getPassword())
+                            .createdAt(row.getCreatedAt() != null ? row.getCreatedAt() : now)
+                            .updatedAt(now)
+                            .build();
+                    em.persist(u);
+                    existing.put(u.getUserId(), u); // 같은 배치 안의 중복 user_id 는 갱신으로 처리
+                    created++;
+                } else {
+                    if (row.getKakaoId() != null) u.setKakaoId(row.getKakaoId());
+                    if (row.getEmail() != null) u.setEmail(row.getEmail());
+                    if (row.getNickname() != null) u.setNickname(row.getNickname());
+                    if (row.getProfileImageUrl() != null) u.setProfileImageUrl(row.getProfileImageUrl());
+                    if (row.getPassword() != null) u.setPassword(row.getPassword());
+                    u.setUpdatedAt(now);
+                    if (u.getId() != null) updated.add(u.getId());
+                }
+            }
+            users.flush(); // 리포지토리 경유 — 제약 위반이 DataIntegrityViolationException 으로 변환된다
+            em.clear();
+            profiles.invalidateAllAfterCommit(updated);
+            return created;
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    private static long rowsPerSecond(long rows, long startNanos) {
+        long elapsed = Math.max(1, System.nanoTime() - startNanos);
+        return rows * 1_000_000_000L / elapsed;
+    }
+}
@@ -0,0 +1,93 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.dto.response.UserPageResponse;
+import com.financedoc.user_service.auth.repository.UserExportView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 관리자 사용자 목록 — OFFSET 대신 (정렬 시각, id) keyset 커서로 최신순 페이지.
+ * idx_users_created_at_id / idx_users_updated_at_id 를 타므로 몇 번째 페이지든 응답 시간이 같다.
+ * 커서는 마지막 행의 "시각,id" 를 base64url 로 인코딩한 값.
+ */
+@Service
+@Lazy   // 관리자 경로 전용 — AdminUserController 와 함께 첫 요청 때 생성
+@RequiredArgsConstructor
+public class UserListingService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    public enum SortKey {
+        CREATED_AT("createdAt"), UPDATED_AT("updatedAt");
+
+        private final String field;
+
+        SortKey(String field) { this.field = field; }
+    }
+
+    private final EntityManager em;
+
+    @Transactional(readOnly = true)
+    public UserPageResponse list(SortKey sort, String cursor, int size, String emailPrefix, String nicknamePrefix) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Cursor after = Cursor.decode(cursor);
+        String f = "u." + sort.field;
+
+        StringBuilder jpql = new StringBuilder("select new com.financedoc.user_service.auth.repository.UserExportView("
+                + "u.id, u.userId, u.kakaoId, u.email, u.nickname, u.profileImageUrl, u.createdAt, u.updatedAt) "
+                + "from User u where 1 = 1");
+        if (after != null) jpql.append(" and (").append(f).append(" < :t or (").append(f).append(" = :t and u.id < :id))");
+        if (StringUtils.hasText(emailPrefix)) jpql.append(" and u.email like :email escape '\\'");
+        if (StringUtils.hasText(nicknamePrefix)) jpql.append(" and u.nickname like :nickname escape '\\'");
+        jpql.append(" order by ").append(f).append(" desc, u.id desc");
+
+        TypedQuery<UserExportView> q = em.createQuery(jpql.toString(), UserExportView.class);
+        if (after != null) q.setParameter("t", after.at()).setParameter("id", after.id());
+        if (StringUtils.hasText(emailPrefix)) q.setParameter("email", likePrefix(emailPrefix));
+        if (StringUtils.hasText(nicknamePrefix)) q.setParameter("nickname", likePrefix(nicknamePrefix));
+        List<UserExportView> rows = q.setMaxResults(size + 1).getResultList();
+
+        if (rows.size() <= size) {
+            return new UserPageResponse(rows, null);
+        }
+        List<UserExportView> page = rows.subList(0, size);
+        UserExportView last = page.get(size - 1);
+        Instant lastAt = sort == SortKey.CREATED_AT ? last.createdAt() : last.updatedAt();
+        return new UserPageResponse(List.copyOf(page), new Cursor(lastAt, last.id()).encode());
+    }
+
+    private static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private record Cursor(Instant at, long id) {
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((at + "," + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            if (!StringUtils.hasText(cursor)) return null;
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(",", 2);
+                return new Cursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+            }
+        }
+    }
+}
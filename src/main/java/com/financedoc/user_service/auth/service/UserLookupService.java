@@ -0,0 +1,62 @@
+package com.financedoc.user_service.auth.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedoc.user_service.auth.repository.UserProfileView;
+import com.financedoc.user_service.auth.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 다른 서비스(리포트/게시판)가 작성자 id 목록을 한 번에 닉네임/아바타로 바꾸기 위한 배치 조회.
+ * 중복 제거 후 IN_CHUNK 단위 IN 쿼리로 읽으며 곧바로 JSON 으로 흘려 보낸다 — 전체 결과를 메모리에 모으지 않는다.
+ * 응답: {"users":[{"userId":1,"nickname":..,"profileImageUrl":..},...],"missing":[7,9]}
+ */
+@Service
+@RequiredArgsConstructor
+public class UserLookupService {
+
+    private static final int IN_CHUNK = 500;
+
+    private final UserRepository users;
+    private final ObjectMapper json;
+
+    public void writeProfiles(Collection<Long> ids, OutputStream out) throws IOException {
+        long[] distinct = ids.stream().filter(Objects::nonNull).mapToLong(Long::longValue).distinct().sorted().toArray();
+        Set<Long> found = new HashSet<>(distinct.length * 2);
+
+        try (JsonGenerator g = json.getFactory().createGenerator(out)) {
+            g.writeStartObject();
+            g.writeArrayFieldStart("users");
+            for (int from = 0; from < distinct.length; from += IN_CHUNK) {
+                List<Long> chunk = Arrays.stream(distinct, from, Math.min(from + IN_CHUNK, distinct.length)).boxed().toList();
+                for (UserProfileView u : users.findProfilesByIdIn(chunk)) {
+                    found.add(u.id());
+                    g.writeStartObject();
+                    g.writeNumberField("userId", u.id());
+                    g.writeStringField("nickname", u.nickname());
+                    g.writeStringField("profileImageUrl", u.profileImageUrl());
+                    g.writeEndObject();
+                }
+                g.flush();
+            }
+            g.writeEndArray();
+
+            g.writeArrayFieldStart("missing");
+            for (long id : distinct) {
+                if (!found.contains(id)) g.writeNumber(id);
+            }
+            g.writeEndArray();
+            g.writeEndObject();
+        }
+    }
+}
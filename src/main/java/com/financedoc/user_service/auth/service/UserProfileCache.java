@@ -0,0 +1,79 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.dto.response.UserResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * GET /auth/me 용 userId → UserResponse 읽기 캐시 (TTL + 크기 상한).
+ * 프로필 변경/탈퇴 시 커밋 이후 무효화해, 커밋 전 값이 다시 캐시에 올라오지 않게 한다.
+ * user-profile-cache.enabled=false 이면 항상 loader 를 호출. 지표: cache.* {cache=user.profile}
+ */
+@Component
+public class UserProfileCache {
+
+    private final Cache<Long, UserResponse> cache; // 비활성화 시 null
+
+    public UserProfileCache(
+            @Value("${user-profile-cache.enabled:true}") boolean enabled,
+            @Value("${user-profile-cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${user-profile-cache.max-size:100000}") long maxSize,
+            MeterRegistry meters
+    ) {
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "user.profile");
+    }
+
+    /** loader 가 예외를 던지면(404 등) 캐시에 남기지 않는다 */
+    public UserResponse get(Long userId, Function<Long, UserResponse> loader) {
+        return cache == null ? loader.apply(userId) : cache.get(userId, loader);
+    }
+
+    /** 진행 중인 트랜잭션이 있으면 커밋 이후, 없으면 즉시 무효화 */
+    public void invalidateAfterCommit(Long userId) {
+        if (cache == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+
+    /** 일괄 갱신용 — 동기화 콜백 하나로 여러 사용자를 커밋 이후 무효화 */
+    public void invalidateAllAfterCommit(Collection<Long> userIds) {
+        if (cache == null || userIds.isEmpty()) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(userIds);
+                }
+            });
+        } else {
+            cache.invalidateAll(userIds);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.financedoc.user_service.auth.timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 핸들러 구간(RequestTiming "handler") — 인자 바인딩부터 컨트롤러·본문 변환·예외 처리까지.
+ * total 에서 handler 를 빼면 필터·디스패치 몫이고, handler 에서 하위 구간(kakao_*, db_*, jwt_* ...)을
+ * 빼면 어느 구간에도 잡히지 않은 시간이다. 비동기로 넘어간 요청은 기록하지 않는다.
+ */
+class HandlerTimingInterceptor implements HandlerInterceptor {
+
+    static final String SPAN = "handler";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestTiming t = RequestTiming.current();
+        if (t != null) t.handlerStartNanos = System.nanoTime();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestTiming t = RequestTiming.current();
+        if (t != null && t.handlerStartNanos != 0) {
+            t.add(SPAN, System.nanoTime() - t.handlerStartNanos);
+            t.handlerStartNanos = 0;
+        }
+    }
+}
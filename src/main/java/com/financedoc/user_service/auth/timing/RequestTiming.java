@@ -0,0 +1,128 @@
+package com.financedoc.user_service.auth.timing;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * 요청 하나의 구간별 소요 시간 기록기 — Server-Timing 헤더와 요청당 1줄 타이밍 로그의 재료.
+ * 기록기(고정 크기 배열, 구간 이름은 상수 문자열)는 공용 풀에서 빌려 요청 속성에 두고, 요청이 끝나면 돌려준다
+ * — 가상 스레드는 요청마다 새 스레드라 스레드별 기록기로는 매 요청 배열 세 개를 새로 만들게 된다.
+ * 요청 안에서는 RequestContextHolder(스프링이 이미 채워 둔 요청 속성)로 찾고, 요청 밖에서는 기록이 무시된다.
+ * 같은 이름의 구간은 합산되고 횟수가 함께 남는다(jwt_sign 2회 등).
+ *
+ * 리액티브 호출처럼 다른 스레드에서 끝나는 구간은 구독 시점에 {@link #current()} 를 잡아 두고
+ * 종료 신호(블로킹 호출자가 깨어나기 전)에서 {@link #add(String, long)} 한다.
+ * 돌려준 기록기는 다른 요청이 다시 쓰므로, 잡아 둔 참조를 요청이 끝난 뒤까지 들고 있으면 안 된다.
+ */
+public final class RequestTiming {
+
+    static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    private static final int MAX_SPANS = 16;
+    // 배열 기반이라 넣고 뺄 때 노드 할당이 없다. 비었으면 새로 만들고, 가득 차면 버린다
+    private static final ArrayBlockingQueue<RequestTiming> POOL = new ArrayBlockingQueue<>(256);
+
+    private final String[] names = new String[MAX_SPANS];
+    private final long[] nanos = new long[MAX_SPANS];
+    private final int[] counts = new int[MAX_SPANS];
+    private int size;
+    private long startNanos;
+    private boolean active;
+    long handlerStartNanos;    // HandlerTimingInterceptor 전용
+
+    private RequestTiming() {
+    }
+
+    /** 요청 시작 — 풀에서 빌린 기록기를 비우고 활성화. 요청 속성 {@link #ATTRIBUTE} 에 두는 건 호출자 몫 */
+    public static RequestTiming begin() {
+        RequestTiming t = acquire();
+        t.reset();
+        return t;
+    }
+
+    /** 진행 중인 요청의 기록기, 요청 밖이면 null */
+    public static RequestTiming current() {
+        RequestAttributes attrs = RequestContextHolder.getRequestAttributes();
+        if (attrs == null) return null;
+        return attrs.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestTiming t && t.active
+                ? t : null;
+    }
+
+    /** 현재 스레드의 요청에 구간 기록 — startNanos 는 System.nanoTime() */
+    public static void record(String span, long startNanos) {
+        RequestTiming t = current();
+        if (t != null) t.add(span, System.nanoTime() - startNanos);
+    }
+
+    public synchronized void add(String span, long durationNanos) {
+        if (!active) return;
+        for (int i = 0; i < size; i++) {
+            if (names[i] == span || names[i].equals(span)) {
+                nanos[i] += durationNanos;
+                counts[i]++;
+                return;
+            }
+        }
+        if (size == MAX_SPANS) return;
+        names[size] = span;
+        nanos[size] = durationNanos;
+        counts[size] = 1;
+        size++;
+    }
+
+    /** 요청 종료 — 이후 늦게 도착한 기록은 버린다 */
+    public synchronized void end() {
+        active = false;
+    }
+
+    /** end() 이후 기록을 다 읽었으면 풀로 돌려준다 — 이후 이 참조는 쓰지 않는다 */
+    public void release() {
+        POOL.offer(this);
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /** RFC Server-Timing 형식: {@code kakao_user_info;dur=120.3, jwt_sign;dur=0.2, total;dur=135.0} */
+    public synchronized void appendServerTiming(StringBuilder sb, long totalNanos) {
+        for (int i = 0; i < size; i++) {
+            sb.append(names[i]).append(";dur=");
+            appendMillis(sb, nanos[i]);
+            sb.append(", ");
+        }
+        sb.append("total;dur=");
+        appendMillis(sb, totalNanos);
+    }
+
+    /** 로그용 key=value 형식: {@code kakao_user_info=120.3 jwt_sign=0.2x2} */
+    public synchronized void appendSpans(StringBuilder sb) {
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(names[i]).append('=');
+            appendMillis(sb, nanos[i]);
+            if (counts[i] > 1) sb.append('x').append(counts[i]);
+        }
+    }
+
+    /** 밀리초, 소수 첫째 자리까지 — String.format 없이 */
+    static void appendMillis(StringBuilder sb, long nanos) {
+        long tenths = nanos / 100_000;
+        sb.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    private static RequestTiming acquire() {
+        RequestTiming t = POOL.poll();
+        return t != null ? t : new RequestTiming();
+    }
+
+    private synchronized void reset() {
+        for (int i = 0; i < size; i++) names[i] = null;
+        size = 0;
+        handlerStartNanos = 0;
+        startNanos = System.nanoTime();
+        active = true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.financedoc.user_service.auth.timing;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** 핸들러 구간 인터셉터 등록 — 요청 밖(request-timing.enabled=false, actuator)이면 기록기가 없어 아무것도 안 한다 */
+@Configuration(proxyBeanMethods = false)
+public class RequestTimingConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerTimingInterceptor());
+    }
+}
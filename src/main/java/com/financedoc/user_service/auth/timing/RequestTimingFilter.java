@@ -0,0 +1,138 @@
+package com.financedoc.user_service.auth.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * 요청마다 RequestTiming 을 열어 요청 속성에 두고, 끝나면 닫아 풀로 돌려준다.
+ * 보통은 RequestContextFilter 가 먼저 RequestContextHolder 를 채워 두고, 비어 있을 때(단독 실행 등)만 여기서 채운다.
+ * - request-timing.server-timing-header=true 면 응답이 커밋되기 직전에 Server-Timing 헤더를 붙인다
+ *   (본문 스트림을 처음 열 때 / 리다이렉트·에러 전송 시 / 본문 없이 끝날 때)
+ * - request-timing.log=true 면 요청당 1줄 key=value 로그(request_timing ...)
+ * actuator 경로는 기록하지 않는다.
+ */
+@Slf4j
+@Component
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private final boolean enabled;
+    private final boolean header;
+    private final boolean logEnabled;
+    private final long logSlowerThanNanos;
+
+    public RequestTimingFilter(
+            @Value("${request-timing.enabled:true}") boolean enabled,
+            @Value("${request-timing.server-timing-header:false}") boolean header,
+            @Value("${request-timing.log:true}") boolean logEnabled,
+            @Value("${request-timing.log-slower-than-ms:0}") long logSlowerThanMs
+    ) {
+        this.enabled = enabled;
+        this.header = header;
+        this.logEnabled = logEnabled;
+        this.logSlowerThanNanos = logSlowerThanMs * 1_000_000;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        request.setAttribute(RequestTiming.ATTRIBUTE, timing);
+        boolean exposed = RequestContextHolder.getRequestAttributes() == null;
+        if (exposed) RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        TimingResponse wrapped = header ? new TimingResponse(response, timing) : null;
+        try {
+            chain.doFilter(request, wrapped != null ? wrapped : response);
+        } finally {
+            if (wrapped != null) wrapped.writeHeader();
+            long total = timing.elapsedNanos();
+            timing.end();
+            if (logEnabled && total >= logSlowerThanNanos && log.isInfoEnabled()) {
+                StringBuilder sb = new StringBuilder(160);
+                sb.append("request_timing method=").append(request.getMethod())
+                        .append(" path=").append(request.getRequestURI())
+                        .append(" status=").append(response.getStatus())
+                        .append(" total=");
+                RequestTiming.appendMillis(sb, total);
+                sb.append(' ');
+                timing.appendSpans(sb);
+                log.info(sb.toString());
+            }
+            if (exposed) RequestContextHolder.resetRequestAttributes();
+            request.removeAttribute(RequestTiming.ATTRIBUTE);
+            timing.release();
+        }
+    }
+
+    /** 커밋 직전 한 번만 Server-Timing 을 붙이는 응답 래퍼 */
+    private static final class TimingResponse extends HttpServletResponseWrapper {
+        private final RequestTiming timing;
+        private boolean written;
+
+        TimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        void writeHeader() {
+            if (written || isCommitted()) return;
+            written = true;
+            StringBuilder sb = new StringBuilder(128);
+            timing.appendServerTiming(sb, timing.elapsedNanos());
+            setHeader("Server-Timing", sb.toString());
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeader();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+    }
+}
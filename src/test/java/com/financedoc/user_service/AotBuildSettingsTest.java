@@ -0,0 +1,47 @@
+package com.financedoc.user_service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** AOT 빌드 때 고정된 조건 값과 실행 환경 비교 */
+class AotBuildSettingsTest {
+
+    @Test
+    void matchingEnvironmentPasses() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("refresh-store.type", "jdbc")
+                .withProperty("spring.threads.virtual.enabled", "false");
+
+        assertThat(AotBuildSettings.mismatches(built(), env)).isEmpty();
+    }
+
+    @Test
+    void runtimeSwitchesThatAotCannotHonourAreReported() {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("refresh-store.type", "replicated")
+                .withProperty("spring.threads.virtual.enabled", "true");
+
+        assertThat(AotBuildSettings.mismatches(built(), env))
+                .containsExactlyInAnyOrder(
+                        "refresh-store.type(build=jdbc, runtime=replicated)",
+                        "spring.threads.virtual.enabled(build=false, runtime=true)");
+    }
+
+    @Test
+    void missingPropertyIsComparedAgainstConditionDefault() {
+        assertThat(AotBuildSettings.mismatches(built(), new MockEnvironment()))
+                .containsExactly("refresh-store.type(build=jdbc, runtime=memory)");
+    }
+
+    private static Properties built() {
+        Properties p = new Properties();
+        p.setProperty("refresh-store.type", "jdbc");
+        p.setProperty("outbox.publisher", "local");
+        p.setProperty("spring.threads.virtual.enabled", "false");
+        return p;
+    }
+}
@@ -0,0 +1,73 @@
+package com.financedoc.user_service.auth.repository;
+
+import com.financedoc.user_service.auth.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** /me 조회가 프로필 3개 컬럼만 읽는지 실제 SQL 로 확인 */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.financedoc.user_service.auth.repository.UserRepositoryProjectionTest$SqlCapture")
+class UserRepositoryProjectionTest {
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        id = em.persistAndFlush(User.builder()
+                .kakaoId(1234L)
+                .userId("U0123456789abcdef")
+                .nickname("stub")
+                .profileImageUrl("https://img.example/1234.png")
+                .password("secret")
+                .refreshToken("legacy-refresh-token")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build()).getId();
+        em.clear();
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void findProfileByIdSelectsOnlyProfileColumns() {
+        UserProfileView view = users.findProfileById(id).orElseThrow();
+
+        assertThat(view).isEqualTo(new UserProfileView(id, "stub", "https://img.example/1234.png"));
+        assertThat(SqlCapture.STATEMENTS).hasSize(1);
+        String sql = SqlCapture.STATEMENTS.get(0).toLowerCase(Locale.ROOT);
+        assertThat(sql).doesNotContain("password", "refresh_token", "email", "kakao_id");
+        assertThat(selectedColumns(sql)).hasSize(3);
+    }
+
+    private static List<String> selectedColumns(String sql) {
+        String list = sql.substring(sql.indexOf("select") + "select".length(), sql.indexOf(" from "));
+        return List.of(list.split(","));
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.financedoc.user_service.auth.security;
+
+import com.financedoc.user_service.auth.dto.response.KakaoUserInfoResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** 로컬 stub 서버(JDK HttpServer)로 카카오 토큰/유저 조회와 타임아웃 동작 확인 */
+class KakaoAuthClientTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meters;
+    private KakaoAuthClient client;
+    private volatile long userInfoDelayMs;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/oauth/token", ex -> {
+            respond(ex, 200, "{\"access_token\":\"kakao-at\",\"token_type\":\"bearer\"}");
+        });
+        server.createContext("/v2/user/me", ex -> {
+            sleep(userInfoDelayMs);
+            if (!"Bearer kakao-at".equals(ex.getRequestHeaders().getFirst("Authorization"))) {
+                respond(ex, 401, "{\"msg\":\"this access token does not exist\"}");
+                return;
+            }
+            respond(ex, 200, "{\"id\":1234,\"properties\":{\"nickname\":\"stub\"}}");
+        });
+        server.start();
+
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        meters = new SimpleMeterRegistry();
+        client = new KakaoAuthClient("client", "", "http://localhost/user/auth/kakao",
+                base, base, 500, 300, 8, meters, KakaoResilience.defaults(meters));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void exchangesCodeAndFetchesUser() {
+        KakaoUserInfoResponse info = client.exchangeCodeForToken("code", null)
+                .flatMap(t -> client.getUserInfo(t.getAccessToken()))
+                .block();
+
+        assertThat(info.getId()).isEqualTo(1234L);
+        assertThat(info.getProperties()).containsEntry("nickname", "stub");
+        assertThat(meters.find("kakao.client.requests").tag("endpoint", "token").tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+        assertThat(meters.find("kakao.client.requests").tag("endpoint", "user_info").tag("outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectedTokenMapsToUnauthorized() {
+        assertThatThrownBy(() -> client.getUserInfo("bogus").block())
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+    }
+
+    @Test
+    void slowKakaoIsCutOffAtReadTimeout() {
+        userInfoDelayMs = 2_000;
+        long start = System.nanoTime();
+
+        assertThatThrownBy(() -> client.getUserInfo("kakao-at").block())
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1_500);
+        assertThat(meters.find("kakao.client.requests").tag("endpoint", "user_info").tag("outcome", "error")
+                .timer().count()).isEqualTo(1);
+    }
+
+    private static void respond(HttpExchange ex, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().add("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length);
+        ex.getResponseBody().write(body);
+        ex.close();
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) return;
+        try { Thread.sleep(ms); }
+        catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+    }
+}
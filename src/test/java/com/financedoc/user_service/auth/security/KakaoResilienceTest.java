@@ -0,0 +1,227 @@
+package com.financedoc.user_service.auth.security;
+
+import com.financedoc.user_service.auth.dto.response.KakaoUserInfoResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** 장애를 주입하는 로컬 stub(JDK HttpServer)으로 서킷 브레이커/동시 호출 상한/헤지 동작 확인 */
+class KakaoResilienceTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meters;
+    private String base;
+
+    private final AtomicInteger userInfoHits = new AtomicInteger();
+    private volatile int userInfoStatus = 200;
+    private volatile long firstUserInfoDelayMs;   // 첫 요청만 지연 (헤지 확인용)
+    private volatile long userInfoDelayMs;        // 모든 요청 지연
+    private volatile CountDownLatch hold;          // null 이 아니면 user_info 요청을 붙잡아 둔다
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v2/user/me", ex -> {
+            int hit = userInfoHits.incrementAndGet();
+            CountDownLatch latch = hold;
+            if (latch != null) await(latch);
+            if (hit == 1) sleep(firstUserInfoDelayMs);
+            sleep(userInfoDelayMs);
+            if (userInfoStatus != 200) {
+                respond(ex, userInfoStatus, "{\"msg\":\"injected\"}");
+                return;
+            }
+            respond(ex, 200, "{\"id\":1234,\"properties\":{\"nickname\":\"stub\"}}");
+        });
+        server.start();
+        base = "http://127.0.0.1:" + server.getAddress().getPort();
+        meters = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        CountDownLatch latch = hold;
+        if (latch != null) latch.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    void openCircuitFailsFastWithRetryAfterAndRecoversThroughHalfOpen() throws InterruptedException {
+        KakaoResilience resilience = resilience(200, 16, false);
+        KakaoAuthClient client = client(resilience);
+        userInfoStatus = 500;
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> client.getUserInfo("kakao-at").block())
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_GATEWAY));
+        }
+        assertThat(resilience.state("user_info")).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meters.find("kakao.circuit.state").tag("endpoint", "user_info").gauge().value())
+                .isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+
+        // 열린 동안은 카카오로 보내지 않는다
+        int hitsWhenOpened = userInfoHits.get();
+        assertThatThrownBy(() -> client.getUserInfo("kakao-at").block())
+                .isInstanceOfSatisfying(KakaoUnavailableException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+                });
+        assertThat(userInfoHits.get()).isEqualTo(hitsWhenOpened);
+        assertThat(meters.find("kakao.calls.rejected").tag("endpoint", "user_info").tag("reason", "circuit_open")
+                .counter().count()).isEqualTo(1);
+        // 엔드포인트별 서킷 — token 은 영향 없음
+        assertThat(resilience.state("token")).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // open-ms 경과 후 시험 호출이 성공하면 닫힌다
+        userInfoStatus = 200;
+        Thread.sleep(250);
+        for (int i = 0; i < 2; i++) {
+            assertThat(client.getUserInfo("kakao-at").block().getId()).isEqualTo(1234L);
+        }
+        assertThat(resilience.state("user_info")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuit() {
+        KakaoResilience resilience = resilience(200, 16, false);
+        KakaoAuthClient client = client(resilience);
+        userInfoStatus = 401;
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> client.getUserInfo("bogus").block())
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+        }
+        assertThat(resilience.state("user_info")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void fastClientErrorsDoNotBecomeLatencyBaseline() {
+        KakaoResilience resilience = resilience(10_000, 2, false);
+        KakaoAuthClient client = client(resilience);
+        userInfoStatus = 401;
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> client.getUserInfo("bogus").block())
+                    .isInstanceOf(ResponseStatusException.class);
+        }
+
+        // 4xx 가 최소 지연 기준선이었다면 정상 응답(300ms)이 허용치(100배)를 넘는 지연으로 보여 상한이 줄어든다
+        userInfoStatus = 200;
+        userInfoDelayMs = 300;
+        for (int i = 0; i < 8; i++) {
+            assertThat(client.getUserInfo("kakao-at").block().getId()).isEqualTo(1234L);
+        }
+        assertThat(resilience.limit("user_info")).isEqualTo(2);
+    }
+
+    @Test
+    void callsBeyondConcurrencyLimitAreRejectedImmediately() throws InterruptedException {
+        KakaoResilience resilience = resilience(10_000, 2, false);
+        KakaoAuthClient client = client(resilience);
+        hold = new CountDownLatch(1);
+
+        client.getUserInfo("kakao-at").subscribe(v -> { }, e -> { });
+        client.getUserInfo("kakao-at").subscribe(v -> { }, e -> { });
+        awaitHits(2);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.getUserInfo("kakao-at").block())
+                .isInstanceOfSatisfying(KakaoUnavailableException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(200);
+        assertThat(userInfoHits.get()).isEqualTo(2);
+        assertThat(meters.find("kakao.calls.rejected").tag("endpoint", "user_info").tag("reason", "limit")
+                .counter().count()).isEqualTo(1);
+        assertThat(meters.find("kakao.concurrency.in-flight").tag("endpoint", "user_info").gauge().value())
+                .isEqualTo(2);
+        // 상한 거절은 서킷 실패로 세지 않는다
+        assertThat(resilience.state("user_info")).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        hold.countDown();
+    }
+
+    @Test
+    void slowPrimaryIsHedged() {
+        KakaoResilience resilience = resilience(10_000, 16, true);
+        KakaoAuthClient client = client(resilience);
+        // 지연 표본 20 건을 쌓아 헤지 지연(백분위수, 최소 30ms)을 정한다
+        for (int i = 0; i < 20; i++) {
+            client.getUserInfo("kakao-at").block();
+        }
+        assertThat(meters.find("kakao.hedge.delay").gauge().value()).isGreaterThanOrEqualTo(30);
+
+        userInfoHits.set(0);
+        firstUserInfoDelayMs = 1_500;
+        long start = System.nanoTime();
+        KakaoUserInfoResponse info = client.getUserInfo("kakao-at").block();
+
+        assertThat(info.getId()).isEqualTo(1234L);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1_000);
+        assertThat(userInfoHits.get()).isEqualTo(2);
+        assertThat(meters.find("kakao.hedge.requests").counter().count()).isEqualTo(1);
+    }
+
+    /** 작은 윈도/짧은 open-ms 로 빠르게 전이되는 설정 */
+    private KakaoResilience resilience(long openMs, int maxLimit, boolean hedge) {
+        return new KakaoResilience(4, 4, 50, 1_500, 80, openMs, 2,
+                maxLimit, 1, maxLimit, 0.9, 100.0,
+                hedge, 95, 30, 100, meters);
+    }
+
+    private KakaoAuthClient client(KakaoResilience resilience) {
+        return new KakaoAuthClient("client", "", "http://localhost/user/auth/kakao",
+                base, base, 500, 3_000, 16, meters, resilience);
+    }
+
+    private void awaitHits(int n) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (userInfoHits.get() < n && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(userInfoHits.get()).isEqualTo(n);
+    }
+
+    private static void respond(HttpExchange ex, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json");
+        ex.sendResponseHeaders(status, body.length);
+        ex.getResponseBody().write(body);
+        ex.close();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) return;
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
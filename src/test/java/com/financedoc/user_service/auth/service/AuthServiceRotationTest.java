@@ -0,0 +1,262 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.dto.response.TokenPairResponse;
+import com.financedoc.user_service.auth.entity.User;
+import com.financedoc.user_service.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * refresh 회전: 동시 요청은 한 쌍을 공유, 다른 레플리카의 동시 회전은 회전 기록의 후속 jti 를 받음,
+ * 유예 뒤 재사용은 전체 폐기, 아직 안 보이는 jti 는 재사용으로 보지 않음
+ */
+@DataJpaTest(properties = {
+        "jwt.access-token-validity=60000",
+        "jwt.refresh-token-validity=120000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // 폐기(epochs)는 자체 트랜잭션으로 커밋된다
+@Import({TokenEpochs.class, AuthServiceRotationTest.Config.class})
+class AuthServiceRotationTest {
+
+    private static final String SECRET = "auth-service-rotation-test-secret-0123456789";
+
+    @Autowired
+    private TokenEpochs epochs;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private final TokenService tokens =
+            new TokenService(SECRET, 60_000, 120_000, "test", false, 0, new SimpleMeterRegistry());
+
+    @AfterEach
+    void cleanUp() {
+        new JdbcTemplate(dataSource).update("DELETE FROM refresh_tokens");
+        users.deleteAll();
+    }
+
+    @Test
+    void concurrentRotationsShareOnePair() throws Exception {
+        long id = saveUser(1L);
+        InMemoryRefreshTokenStore store = memoryStore();
+        String refresh = issue(store, id);
+        AuthService auth = authService(store);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TokenPairResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return auth.rotateRefreshToken(refresh);
+            }));
+        }
+        start.countDown();
+        Set<String> refreshTokens = new HashSet<>();
+        for (Future<TokenPairResponse> f : results) {
+            refreshTokens.add(f.get(5, TimeUnit.SECONDS).getRefreshToken());
+        }
+        pool.shutdown();
+
+        assertThat(refreshTokens).hasSize(1);
+        assertThat(store.entryCount()).isEqualTo(1);
+        assertThat(epochs.notBefore(id)).isZero();
+    }
+
+    @Test
+    void reuseAfterGraceRevokesAllTokens() {
+        long id = saveUser(2L);
+        InMemoryRefreshTokenStore store = memoryStore();
+        String stolen = issue(store, id);
+        TokenPairResponse pair = authService(store).rotateRefreshToken(stolen);
+
+        // 유예 캐시가 없는 인스턴스 = 유예 시간이 지났거나 다른 레플리카
+        AuthService later = authService(store);
+        assertThatThrownBy(() -> later.rotateRefreshToken(stolen))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getReason()).isEqualTo("Refresh token reuse detected"));
+
+        assertThat(epochs.notBefore(id)).isPositive();
+        assertThat(store.entryCount()).isZero();
+        assertThatThrownBy(() -> authService(store).rotateRefreshToken(pair.getRefreshToken()))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void recentTokenStillBufferedElsewhereIsRotatedAfterLag() {
+        long id = saveUser(3L);
+        LaggingStore store = new LaggingStore(Duration.ofMillis(300));
+        String jti = UUID.randomUUID().toString();
+        String refresh = tokens.createRefreshToken(id, jti);
+        store.saveLater(id, jti, Duration.ofMillis(100));   // 다른 레플리카 버퍼에서 100ms 뒤 커밋
+
+        TokenPairResponse pair = authService(store).rotateRefreshToken(refresh);
+
+        assertThat(pair.getRefreshToken()).isNotBlank();
+        assertThat(epochs.notBefore(id)).isZero();
+    }
+
+    @Test
+    void recentTokenNeverVisibleIsRejectedWithoutRevocation() {
+        long id = saveUser(4L);
+        LaggingStore store = new LaggingStore(Duration.ofMillis(100));
+        String refresh = tokens.createRefreshToken(id, UUID.randomUUID().toString());
+
+        assertThatThrownBy(() -> authService(store).rotateRefreshToken(refresh))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getReason()).isEqualTo("Refresh invalidated"));
+        assertThat(epochs.notBefore(id)).isZero();
+    }
+
+    @Test
+    void rotationOnAnotherReplicaWithinGraceReturnsSameSuccessor() {
+        long id = saveUser(5L);
+        JdbcRefreshTokenStore store = jdbcStore(30_000);
+        String refresh = issue(store, id);
+        store.flush();
+
+        TokenPairResponse first = authService(store).rotateRefreshToken(refresh);
+        // 유예 캐시가 없는 인스턴스 = 같은 토큰의 요청이 다른 레플리카로 간 경우
+        TokenPairResponse second = authService(store).rotateRefreshToken(refresh);
+
+        assertThat(tokens.verify(second.getRefreshToken()).getId())
+                .isEqualTo(tokens.verify(first.getRefreshToken()).getId());
+        assertThat(epochs.notBefore(id)).isZero();
+    }
+
+    @Test
+    void rotatedTokenReplayedAfterGraceOnAnotherReplicaRevokesAll() {
+        long id = saveUser(6L);
+        JdbcRefreshTokenStore store = jdbcStore(0);
+        String stolen = issue(store, id);
+        store.flush();
+        authService(store).rotateRefreshToken(stolen);
+
+        assertThatThrownBy(() -> authService(store).rotateRefreshToken(stolen))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getReason()).isEqualTo("Refresh token reuse detected"));
+        assertThat(epochs.notBefore(id)).isPositive();
+    }
+
+    @Test
+    void olderTokenMissingWithoutRotationRecordIsRejectedWithoutRevocation() {
+        long id = saveUser(7L);
+        LaggingStore store = new LaggingStore(Duration.ofMillis(1));
+        // 다른 레플리카 버퍼에서 flush 가 계속 실패하는 중 — 반영 지연보다 오래됐지만 회전된 적은 없다
+        String refresh = tokens.createRefreshToken(id, UUID.randomUUID().toString());
+        sleepQuietly(1_100);
+
+        assertThatThrownBy(() -> authService(store).rotateRefreshToken(refresh))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getReason()).isEqualTo("Refresh invalidated"));
+        assertThat(epochs.notBefore(id)).isZero();
+    }
+
+    private JdbcRefreshTokenStore jdbcStore(long rotationGraceMs) {
+        return new JdbcRefreshTokenStore(new JdbcTemplate(dataSource), new TransactionTemplate(txManager),
+                500, 1000, 200, rotationGraceMs, new SimpleMeterRegistry());
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private AuthService authService(RefreshTokenStore store) {
+        return new AuthService(null, null, users, tokens, store, null, null, null, null, epochs);
+    }
+
+    private InMemoryRefreshTokenStore memoryStore() {
+        return new InMemoryRefreshTokenStore(10, 60_000, new SimpleMeterRegistry());
+    }
+
+    private String issue(RefreshTokenStore store, long id) {
+        String jti = UUID.randomUUID().toString();
+        store.save(id, jti, Instant.now().plus(1, ChronoUnit.DAYS));
+        return tokens.createRefreshToken(id, jti);
+    }
+
+    private long saveUser(long kakaoId) {
+        return users.save(User.builder()
+                .kakaoId(kakaoId)
+                .userId("U" + String.format("%016d", kakaoId))
+                .nickname("u" + kakaoId)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build()).getId();
+    }
+
+    /** write-behind 저장소 흉내 — 지정한 지연 뒤에야 보이는 save, visibilityLag 보고 */
+    static class LaggingStore implements RefreshTokenStore {
+        private final InMemoryRefreshTokenStore delegate =
+                new InMemoryRefreshTokenStore(10, 60_000, new SimpleMeterRegistry());
+        private final Duration lag;
+
+        LaggingStore(Duration lag) {
+            this.lag = lag;
+        }
+
+        void saveLater(long userId, String jti, Duration delay) {
+            CompletableFuture.runAsync(() -> save(userId, jti, Instant.now().plus(1, ChronoUnit.DAYS)),
+                    CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS));
+        }
+
+        @Override public void save(long userId, String jti, Instant expiresAt) { delegate.save(userId, jti, expiresAt); }
+        @Override public boolean exists(long userId, String jti) { return delegate.exists(userId, jti); }
+        @Override public boolean rotate(long userId, String oldJti, String newJti, Instant newExpiresAt) {
+            return delegate.rotate(userId, oldJti, newJti, newExpiresAt);
+        }
+        @Override public void revoke(long userId, String jti) { delegate.revoke(userId, jti); }
+        @Override public void revokeAll(long userId) { delegate.revokeAll(userId); }
+        @Override public Duration visibilityLag() { return lag; }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
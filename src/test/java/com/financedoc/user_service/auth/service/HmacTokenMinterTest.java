@@ -0,0 +1,116 @@
+package com.financedoc.user_service.auth.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** HmacTokenMinter 토큰이 auth0 JWTCreator 토큰과 같은 헤더/클레임이고 TokenService.verify 를 통과하는지 */
+class HmacTokenMinterTest {
+
+    private static final String SECRET = "hmac-token-minter-test-secret-0123456789";
+    private static final long VALIDITY_MS = 60_000;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    // 길이별로 iss 앞부분 패딩(0/1/2칸)이 모두 나오도록 + 이스케이프/비 ASCII
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "ab", "abc", "user-service", "iss \"quoted\" \\ 발급자"})
+    void accessTokenMatchesAuth0Claims(String issuer) throws Exception {
+        HmacTokenMinter minter = new HmacTokenMinter(SECRET, issuer);
+        long now = System.currentTimeMillis();
+
+        String minted = minter.access(1234567890123L, now, VALIDITY_MS);
+        String expected = JWT.create()
+                .withIssuer(issuer)
+                .withSubject("1234567890123")
+                .withIssuedAt(new Date(now))
+                .withExpiresAt(new Date(now + VALIDITY_MS))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        assertSameJwt(minted, expected);
+        DecodedJWT jwt = service(issuer).verify(minted);
+        assertThat(jwt.getSubject()).isEqualTo("1234567890123");
+        assertThat(jwt.getIssuer()).isEqualTo(issuer);
+    }
+
+    @Test
+    void refreshTokenMatchesAuth0Claims() throws Exception {
+        HmacTokenMinter minter = new HmacTokenMinter(SECRET, "test");
+        String jti = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+
+        String minted = minter.refresh(0L, jti, now, VALIDITY_MS);
+        String expected = JWT.create()
+                .withIssuer("test")
+                .withSubject("0")
+                .withJWTId(jti)
+                .withClaim("typ", "refresh")
+                .withIssuedAt(new Date(now))
+                .withExpiresAt(new Date(now + VALIDITY_MS))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        assertSameJwt(minted, expected);
+        DecodedJWT jwt = service("test").verify(minted);
+        assertThat(jwt.getId()).isEqualTo(jti);
+        assertThat(jwt.getClaim("typ").asString()).isEqualTo("refresh");
+    }
+
+    @Test
+    void tokenServiceFallsBackToAuth0ForUnusualJti() {
+        TokenService tokens = service("test");
+
+        String token = tokens.createRefreshToken(5L, "jti with \"quotes\"");
+
+        assertThat(tokens.verify(token).getId()).isEqualTo("jti with \"quotes\"");
+    }
+
+    @Test
+    void virtualThreadsShareScratchSafely() throws Exception {
+        TokenService tokens = service("test");
+        List<Future<String>> minted = new ArrayList<>();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 0; id < 2_000; id++) {
+                long userId = id;
+                minted.add(pool.submit(() -> tokens.createAccessToken(userId)));
+            }
+        }
+        for (int id = 0; id < minted.size(); id++) {
+            assertThat(tokens.verify(minted.get(id).get()).getSubject()).isEqualTo(String.valueOf(id));
+        }
+    }
+
+    private static TokenService service(String issuer) {
+        return new TokenService(SECRET, VALIDITY_MS, VALIDITY_MS, issuer, false, 0, new SimpleMeterRegistry());
+    }
+
+    /** 헤더/payload 는 JSON 값으로 같고(키 순서·공백만 다를 수 있음), 서명은 각자의 서명 입력에 대해 유효 */
+    private static void assertSameJwt(String minted, String expected) throws Exception {
+        String[] a = minted.split("\\.");
+        String[] b = expected.split("\\.");
+        assertThat(a).hasSize(3);
+        assertThat(json(a[0])).isEqualTo(json(b[0]));
+        assertThat(json(a[1])).isEqualTo(json(b[1]));
+        assertThat(Base64.getUrlDecoder().decode(a[2])).hasSize(32);
+        assertThat(minted).doesNotContain("=");
+    }
+
+    private static Map<?, ?> json(String segment) throws Exception {
+        return JSON.readValue(Base64.getUrlDecoder().decode(segment), Map.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.financedoc.user_service.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 만료 버킷 sweep 이 만료된 세션과 빈 사용자 엔트리를 남김없이 회수하는지 */
+class InMemoryRefreshTokenStoreTest {
+
+    private static final long BUCKET_MS = 100;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(10, BUCKET_MS, meters);
+
+    @Test
+    void expiredSessionsAndUsersAreSweptToZero() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        for (long userId = 1; userId <= 50; userId++) {
+            store.save(userId, UUID.randomUUID().toString(), Instant.ofEpochMilli(now + 20));
+            store.save(userId, UUID.randomUUID().toString(), Instant.ofEpochMilli(now + 150));
+        }
+        assertThat(store.entryCount()).isEqualTo(100);
+
+        // 현재 버킷에 아직 만료 전 세션이 있어도 버킷을 버리지 않는다
+        store.sweepExpired();
+        assertThat(store.entryCount()).isGreaterThan(0);
+
+        Thread.sleep(150 + 2 * BUCKET_MS);
+        store.sweepExpired();
+
+        assertThat(store.entryCount()).isZero();
+        assertThat(users()).isZero();
+    }
+
+    @Test
+    void liveSessionsSurviveSweep() throws InterruptedException {
+        String live = UUID.randomUUID().toString();
+        store.save(7L, UUID.randomUUID().toString(), Instant.ofEpochMilli(System.currentTimeMillis() + 10));
+        store.save(7L, live, Instant.now().plusSeconds(60));
+
+        Thread.sleep(10 + 2 * BUCKET_MS);
+        store.sweepExpired();
+
+        assertThat(store.entryCount()).isEqualTo(1);
+        assertThat(store.exists(7L, live)).isTrue();
+        assertThat(users()).isEqualTo(1);
+    }
+
+    private double users() {
+        return meters.get("refresh.store.users").gauge().value();
+    }
+}
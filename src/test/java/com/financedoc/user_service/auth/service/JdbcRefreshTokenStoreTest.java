@@ -0,0 +1,196 @@
+package com.financedoc.user_service.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** write-behind 버퍼와 배치 INSERT 사이의 경합 — flush 도중 조회/폐기/회전, 실패한 배치, 회전 기록 */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // flush 는 자체 트랜잭션으로 커밋한다
+class JdbcRefreshTokenStoreTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private GatedJdbcTemplate jdbc;
+    private JdbcRefreshTokenStore store;
+    private final Instant exp = Instant.now().plus(1, ChronoUnit.DAYS);
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new GatedJdbcTemplate(dataSource);
+        store = new JdbcRefreshTokenStore(jdbc, new TransactionTemplate(txManager), 500, 1000, 200, 30_000,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.release();
+        jdbc.update("DELETE FROM refresh_tokens");
+    }
+
+    @Test
+    void revokeDuringFlushDoesNotResurrectToken() throws Exception {
+        String jti = UUID.randomUUID().toString();
+        store.save(1L, jti, exp);
+        jdbc.hold();
+
+        Thread flusher = Thread.ofPlatform().start(store::flush);
+        jdbc.awaitEntered();
+        assertThat(store.exists(1L, jti)).isTrue();   // INSERT 커밋 전에도 버퍼에서 보인다
+
+        Thread revoker = Thread.ofPlatform().start(() -> store.revoke(1L, jti));
+        revoker.join(200);
+        assertThat(revoker.isAlive()).isTrue();       // 진행 중인 배치가 끝나길 기다린다
+
+        jdbc.release();
+        flusher.join(5_000);
+        revoker.join(5_000);
+
+        assertThat(store.exists(1L, jti)).isFalse();
+        assertThat(rows()).isZero();
+    }
+
+    @Test
+    void rotateDuringFlushSucceedsOnce() throws Exception {
+        String jti = UUID.randomUUID().toString();
+        store.save(2L, jti, exp);
+        jdbc.hold();
+
+        Thread flusher = Thread.ofPlatform().start(store::flush);
+        jdbc.awaitEntered();
+        AtomicBoolean first = new AtomicBoolean();
+        Thread rotator = Thread.ofPlatform().start(() ->
+                first.set(store.rotate(2L, jti, UUID.randomUUID().toString(), exp)));
+
+        jdbc.release();
+        flusher.join(5_000);
+        rotator.join(5_000);
+
+        assertThat(first).isTrue();
+        assertThat(store.rotate(2L, jti, UUID.randomUUID().toString(), exp)).isFalse();
+        assertThat(store.exists(2L, jti)).isFalse();
+    }
+
+    @Test
+    void failedBatchKeepsRowsBuffered() {
+        String jti = UUID.randomUUID().toString();
+        store.save(3L, jti, exp);
+        jdbc.failNext = true;
+
+        store.flush();
+
+        assertThat(rows()).isZero();
+        assertThat(store.exists(3L, jti)).isTrue();
+
+        store.flush();
+
+        assertThat(rows()).isEqualTo(1);
+        assertThat(store.exists(3L, jti)).isTrue();
+    }
+
+    @Test
+    void revokeDeletesFlushedRow() {
+        String jti = UUID.randomUUID().toString();
+        store.save(4L, jti, exp);
+        store.flush();
+
+        store.revoke(4L, jti);
+
+        assertThat(rows()).isZero();
+        assertThat(store.exists(4L, jti)).isFalse();
+    }
+
+    @Test
+    void rotationLeavesSuccessorRecordForPeers() {
+        String flushed = UUID.randomUUID().toString();
+        String buffered = UUID.randomUUID().toString();
+        store.save(5L, flushed, exp);
+        store.flush();
+        store.save(5L, buffered, exp);
+
+        String next1 = UUID.randomUUID().toString();
+        String next2 = UUID.randomUUID().toString();
+        assertThat(store.rotate(5L, flushed, next1, exp)).isTrue();    // 행 UPDATE
+        assertThat(store.rotate(5L, buffered, next2, exp)).isTrue();   // 버퍼에서 꺼내 기록만 INSERT
+
+        assertThat(store.findRotation(5L, flushed).successorJti()).isEqualTo(next1);
+        assertThat(store.findRotation(5L, buffered).successorJti()).isEqualTo(next2);
+        assertThat(store.findRotation(5L, flushed).inGrace(Instant.now())).isTrue();
+        assertThat(store.findRotation(5L, next1)).isNull();
+        assertThat(store.exists(5L, flushed)).isFalse();
+        assertThat(store.rotate(5L, flushed, UUID.randomUUID().toString(), exp)).isFalse();
+
+        store.revoke(5L, flushed);   // 이전 토큰으로 로그아웃해도 회전 기록은 남는다
+        assertThat(store.findRotation(5L, flushed)).isNotNull();
+    }
+
+    private long rows() {
+        return jdbc.queryForObject("SELECT count(*) FROM refresh_tokens", Long.class);
+    }
+
+    /** batchUpdate 진입 시 멈추거나(hold) 한 번 실패하는(failNext) JdbcTemplate */
+    static class GatedJdbcTemplate extends JdbcTemplate {
+        private volatile CountDownLatch entered = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+        volatile boolean failNext;
+
+        GatedJdbcTemplate(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            CountDownLatch g = gate;
+            if (g != null) g.countDown();
+        }
+
+        void awaitEntered() throws InterruptedException {
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            entered.countDown();
+            CountDownLatch g = gate;
+            if (g != null) {
+                try {
+                    g.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failNext) {
+                failNext = false;
+                throw new DataAccessResourceFailureException("injected");
+            }
+            return super.batchUpdate(sql, batchArgs);
+        }
+    }
+}
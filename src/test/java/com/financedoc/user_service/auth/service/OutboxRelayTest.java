@@ -0,0 +1,91 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.entity.OutboxEvent;
+import com.financedoc.user_service.auth.entity.User;
+import com.financedoc.user_service.auth.repository.OutboxRepository;
+import com.financedoc.user_service.auth.repository.UserEvent;
+import com.financedoc.user_service.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 탈퇴 DELETE 가 아웃박스에 user.deleted 를 남기고, 릴레이가 소비자에게 전달한 뒤 비우는지 확인 */
+@DataJpaTest
+@Import({OutboxRepository.class, OutboxRelay.class, OutboxRelayTest.Config.class})
+class OutboxRelayTest {
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxRepository outbox;
+
+    @Autowired
+    private RecordingPublisher consumer;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Test
+    void deleteRecordsEventAndRelayDeliversItOnce() {
+        long id = em.persistAndFlush(User.builder()
+                .kakaoId(42L)
+                .userId("U00000000000000042")
+                .nickname("gone")
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build()).getId();
+        em.clear();
+
+        assertThat(users.deleteAndRecordEvent(id)).isEqualTo(1);
+        assertThat(users.deleteAndRecordEvent(id)).isZero();   // 없는 사용자는 이벤트도 남기지 않음
+        assertThat(users.existsById(id)).isFalse();
+
+        relay.relay();
+        relay.relay();
+
+        assertThat(consumer.received).singleElement().satisfies(e -> {
+            assertThat(e.type()).isEqualTo(OutboxEvent.USER_DELETED);
+            assertThat(e.userId()).isEqualTo(id);
+        });
+        assertThat(outbox.lockBatch(10)).isEmpty();
+    }
+
+    /** 하위 서비스 대역 — 받은 이벤트를 기록만 한다 */
+    static class RecordingPublisher implements UserEventPublisher {
+        final List<UserEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(List<UserEvent> events) {
+            received.addAll(events);
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        RecordingPublisher recordingPublisher() {
+            return new RecordingPublisher();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
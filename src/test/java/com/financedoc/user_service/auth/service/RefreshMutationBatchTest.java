@@ -0,0 +1,87 @@
+package com.financedoc.user_service.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 변경 합치기와 NOTIFY 페이로드 왕복 — 한 파드의 변경을 받은 다른 파드 로컬 맵이 같은 상태가 되는지 */
+class RefreshMutationBatchTest {
+
+    private static final long EXP = System.currentTimeMillis() + 60_000;
+
+    @Test
+    void coalescesPerUserAndJti() {
+        RefreshMutationBatch batch = new RefreshMutationBatch();
+        UUID a = UUID.randomUUID(), b = UUID.randomUUID(), c = UUID.randomUUID();
+        batch.save(1, a.getMostSignificantBits(), a.getLeastSignificantBits(), EXP);
+        batch.remove(1, a.getMostSignificantBits(), a.getLeastSignificantBits());   // save→revoke 는 revoke 하나
+        batch.save(2, b.getMostSignificantBits(), b.getLeastSignificantBits(), EXP);
+        batch.removeAll(2);                                                          // 앞선 변경을 덮는다
+        batch.save(2, c.getMostSignificantBits(), c.getLeastSignificantBits(), EXP);
+
+        List<String> payloads = batch.encode("pod-a", new AtomicLong()::incrementAndGet);
+
+        assertThat(batch.mutations()).isEqualTo(5);
+        assertThat(payloads).hasSize(1);
+        List<String> lines = payloads.get(0).lines().toList();
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0)).isEqualTo("pod-a:1");
+        assertThat(lines.get(1)).startsWith("D,1,");
+        assertThat(lines.get(2)).isEqualTo("A,2");
+        assertThat(lines.get(3)).startsWith("S,2," + Long.toHexString(c.getMostSignificantBits()));
+    }
+
+    @Test
+    void replicaAppliesPayloadsToSameState() {
+        InMemoryRefreshTokenStore origin = new InMemoryRefreshTokenStore(10, 60_000, new SimpleMeterRegistry());
+        InMemoryRefreshTokenStore replica = new InMemoryRefreshTokenStore(10, 60_000, new SimpleMeterRegistry());
+        RefreshMutationBatch batch = new RefreshMutationBatch();
+        UUID kept = UUID.randomUUID(), revoked = UUID.randomUUID();
+        for (long user = 1; user <= 500; user++) {   // 페이로드 상한을 넘겨 여러 개로 나뉘게
+            for (UUID jti : List.of(kept, revoked)) {
+                origin.putIfAbsent(user, jti.getMostSignificantBits(), jti.getLeastSignificantBits(), EXP);
+                batch.save(user, jti.getMostSignificantBits(), jti.getLeastSignificantBits(), EXP);
+            }
+            origin.remove(user, revoked.getMostSignificantBits(), revoked.getLeastSignificantBits());
+            batch.remove(user, revoked.getMostSignificantBits(), revoked.getLeastSignificantBits());
+        }
+        replica.putIfAbsent(7, revoked.getMostSignificantBits(), revoked.getLeastSignificantBits(), EXP);  // 이전 배치로 받은 것
+
+        List<String> payloads = batch.encode("pod-a", new AtomicLong()::incrementAndGet);
+        long seq = 0;
+        for (String p : payloads) {
+            assertThat(p.getBytes().length).isLessThanOrEqualTo(RefreshMutationBatch.MAX_PAYLOAD_BYTES);
+            RefreshMutationBatch.Header h = RefreshMutationBatch.apply(p, sink(replica));
+            assertThat(h).isEqualTo(new RefreshMutationBatch.Header("pod-a", ++seq));
+        }
+
+        assertThat(payloads.size()).isGreaterThan(1);
+        assertThat(replica.entryCount()).isEqualTo(origin.entryCount()).isEqualTo(500);
+        assertThat(replica.exists(7, kept.toString())).isTrue();
+        assertThat(replica.exists(7, revoked.toString())).isFalse();
+    }
+
+    private static RefreshMutationBatch.Sink sink(InMemoryRefreshTokenStore store) {
+        return new RefreshMutationBatch.Sink() {
+            @Override
+            public void save(long userId, long hi, long lo, long expMs) {
+                store.putIfAbsent(userId, hi, lo, expMs);
+            }
+
+            @Override
+            public void remove(long userId, long hi, long lo) {
+                store.remove(userId, hi, lo);
+            }
+
+            @Override
+            public void removeAll(long userId) {
+                store.revokeAll(userId);
+            }
+        };
+    }
+}
@@ -0,0 +1,166 @@
+package com.financedoc.user_service.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** catch-up: 재적재 중에도 조회/쓰기가 계속되고, 스냅샷에 없는 변경(적재 중 변경, 미영속 peer save)을 잃지 않고, 놓친 remove 를 되돌리지 않는지 */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // flush 는 자체 트랜잭션으로 커밋한다
+class ReplicatedRefreshTokenStoreTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    private JdbcTemplate jdbc;
+    private GatedDurable durable;
+    private ReplicatedRefreshTokenStore store;
+    private final Instant exp = Instant.now().plus(1, ChronoUnit.DAYS);
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(dataSource);
+        durable = new GatedDurable(jdbc, new TransactionTemplate(txManager));
+        store = new ReplicatedRefreshTokenStore(durable, dataSource, jdbc, 10, 60_000,
+                "refresh_store", 5, 500, 1_000, new SimpleMeterRegistry());
+        store.start();   // H2 — 전파 스레드 없이 catch-up 만
+    }
+
+    @AfterEach
+    void cleanUp() throws InterruptedException {
+        durable.release();
+        store.stop();
+        jdbc.update("DELETE FROM refresh_tokens");
+    }
+
+    @Test
+    void catchUpKeepsServingAndReplaysChangesMadeDuringReload() throws Exception {
+        String revoked = UUID.randomUUID().toString();
+        String kept = UUID.randomUUID().toString();
+        store.save(1L, revoked, exp);
+        store.save(1L, kept, exp);
+        durable.hold();
+
+        Thread reload = Thread.ofPlatform().start(store::catchUp);
+        durable.awaitLoaded();   // 스냅샷은 읽었고(revoked 포함) 아직 바꿔 끼우기 전
+
+        long start = System.nanoTime();
+        assertThat(store.exists(1L, revoked)).isTrue();   // 이전 맵이 계속 응답
+        String added = UUID.randomUUID().toString();
+        store.save(1L, added, exp);                       // 버퍼에만 있어 스냅샷에 없다
+        store.revoke(1L, revoked);                        // 스냅샷에는 있다
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1_000);
+
+        durable.release();
+        reload.join(5_000);
+
+        assertThat(store.exists(1L, added)).isTrue();
+        assertThat(store.exists(1L, kept)).isTrue();
+        assertThat(store.exists(1L, revoked)).isFalse();
+    }
+
+    @Test
+    void peerSaveNotYetPersistedSurvivesCatchUp() {
+        UUID jti = UUID.randomUUID();
+        assertThat(store.receive(peerSave(2L, jti, 1))).isFalse();
+
+        store.catchUp();   // 다른 파드 버퍼에만 있는 save — refresh_tokens 스냅샷에는 없다
+
+        assertThat(store.exists(2L, jti.toString())).isTrue();
+    }
+
+    @Test
+    void sequenceGapIsDetectedAndFilledByCatchUp() {
+        UUID first = UUID.randomUUID(), missed = UUID.randomUUID(), third = UUID.randomUUID();
+        assertThat(store.receive(peerSave(3L, first, 1))).isFalse();
+        assertThat(store.receive(peerSave(3L, third, 3))).isTrue();   // seq 2 누락
+        assertThat(store.exists(3L, missed.toString())).isFalse();
+
+        // 누락된 알림의 save 는 다른 파드가 내려 쓴 뒤 스냅샷으로 들어온다
+        JdbcRefreshTokenStore peer = new JdbcRefreshTokenStore(jdbc, new TransactionTemplate(txManager),
+                500, 1000, 200, 30_000, new SimpleMeterRegistry());
+        peer.save(3L, missed.toString(), exp);
+        peer.flush();
+        store.catchUp();
+
+        assertThat(store.exists(3L, first.toString())).isTrue();
+        assertThat(store.exists(3L, missed.toString())).isTrue();
+        assertThat(store.exists(3L, third.toString())).isTrue();
+    }
+
+    @Test
+    void catchUpDoesNotResurrectTokenWhoseRemoveWasMissed() throws InterruptedException {
+        UUID removed = UUID.randomUUID(), recent = UUID.randomUUID();
+        assertThat(store.receive(peerSave(4L, removed, 1))).isFalse();
+        // 다른 파드가 영속화한 뒤 폐기했는데 그 remove 알림(seq 2)을 놓쳤다 — refresh_tokens 에도 없다
+        Thread.sleep(durable.visibilityLag().toMillis() + 100);
+        assertThat(store.receive(peerSave(4L, recent, 3))).isTrue();
+
+        store.catchUp();
+
+        assertThat(store.exists(4L, removed.toString())).isFalse();
+        assertThat(store.exists(4L, recent.toString())).isTrue();   // 아직 영속화 전일 수 있는 최근 save 는 유지
+    }
+
+    private String peerSave(long userId, UUID jti, long seq) {
+        RefreshMutationBatch batch = new RefreshMutationBatch();
+        batch.save(userId, jti.getMostSignificantBits(), jti.getLeastSignificantBits(), exp.toEpochMilli());
+        return batch.encode("peer", () -> seq).get(0);
+    }
+
+    /** 스냅샷을 읽은 직후(hold) 멈추는 영속 저장소 */
+    static class GatedDurable extends JdbcRefreshTokenStore {
+        private final CountDownLatch loaded = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+
+        GatedDurable(JdbcTemplate jdbc, TransactionTemplate tx) {
+            super(jdbc, tx, 500, 1000, 200, 30_000, new SimpleMeterRegistry());
+        }
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            CountDownLatch g = gate;
+            if (g != null) g.countDown();
+        }
+
+        void awaitLoaded() throws InterruptedException {
+            assertThat(loaded.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        @Override
+        void forEachLive(LiveRowHandler handler) {
+            super.forEachLive(handler);
+            CountDownLatch g = gate;
+            if (g == null) return;
+            loaded.countDown();
+            try {
+                g.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.financedoc.user_service.auth.service;
+
+import com.auth0.jwt.JWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** ES256 kid 서명/JWKS 게시, 미리 게시 후 회전, 레거시 HS256 검증 확인 */
+@DataJpaTest(properties = {
+        "jwt.signing.algorithm=ES256",
+        "jwt.signing.rotation-interval-hours=1",
+        "jwt.signing.publish-ahead-seconds=60",
+        "jwt.access-token-validity=60000",
+        "jwt.refresh-token-validity=120000",
+        "jwt.secret=" + SigningKeyRingTest.SECRET
+})
+@Import(SigningKeyRing.class)
+class SigningKeyRingTest {
+
+    static final String SECRET = "signing-key-ring-test-secret-0123456789";
+
+    @Autowired
+    private SigningKeyRing ring;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private TokenService tokens;
+
+    @BeforeEach
+    void setUp() {
+        ring.refresh();
+        tokens = new TokenService(SECRET, 60_000, 120_000, "test", false, 0, true, true, ring, null, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void signsWithKidPublishedInJwks() {
+        String token = tokens.createAccessToken(7L);
+
+        String kid = JWT.decode(token).getKeyId();
+        assertThat(JWT.decode(token).getAlgorithm()).isEqualTo("ES256");
+        assertThat(ring.jwks().json()).contains("\"kid\":\"" + kid + "\"", "\"crv\":\"P-256\"");
+        assertThat(tokens.verify(token).getSubject()).isEqualTo("7");
+    }
+
+    @Test
+    void nextKeyIsPublishedBeforeItSignsAndOldTokensStillVerify() {
+        String oldToken = tokens.createAccessToken(1L);
+        String oldKid = JWT.decode(oldToken).getKeyId();
+
+        // 현재 키가 회전 시점에 다다름 → 다음 키는 게시만 되고 서명은 아직 이전 키
+        jdbc.update("UPDATE jwt_signing_keys SET active_from = ?", System.currentTimeMillis() - 3_600_000);
+        ring.refresh();
+        assertThat(ring.jwks().json().split("\"kid\"")).hasSize(3);
+        assertThat(ring.signer().kid()).isEqualTo(oldKid);
+
+        // 게시 시간이 지나 새 키 활성화
+        jdbc.update("UPDATE jwt_signing_keys SET active_from = ? WHERE kid <> ?", System.currentTimeMillis() - 1, oldKid);
+        ring.refresh();
+        String newToken = tokens.createAccessToken(2L);
+
+        assertThat(JWT.decode(newToken).getKeyId()).isNotEqualTo(oldKid);
+        assertThat(tokens.verify(oldToken).getSubject()).isEqualTo("1");
+        assertThat(tokens.verify(newToken).getSubject()).isEqualTo("2");
+    }
+
+    @Test
+    void legacyHs256TokensVerifyDuringMigration() {
+        TokenService legacy = new TokenService(SECRET, 60_000, 120_000, "test", false, 0, new SimpleMeterRegistry());
+
+        assertThat(tokens.verify(legacy.createAccessToken(3L)).getSubject()).isEqualTo("3");
+    }
+}
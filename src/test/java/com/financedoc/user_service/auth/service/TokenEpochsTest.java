@@ -0,0 +1,117 @@
+package com.financedoc.user_service.auth.service;
+
+import com.financedoc.user_service.auth.entity.User;
+import com.financedoc.user_service.auth.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 전체 폐기가 UPDATE 한 번으로 기록되고, 로컬/다른 레플리카 쓰기 모두 iat 검사에 반영되고, 직후 재발급은 막지 않는지 */
+@DataJpaTest(properties = {
+        "jwt.access-token-validity=60000",
+        "jwt.refresh-token-validity=120000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // revokeAll 은 자체 트랜잭션으로 커밋 — 사용자 행이 커밋돼 있어야 한다
+@Import({TokenEpochs.class, TokenEpochsTest.Config.class})
+class TokenEpochsTest {
+
+    @Autowired
+    private TokenEpochs epochs;
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        users.deleteAll();
+    }
+
+    @Test
+    void revokeAllRejectsTokensIssuedBeforeTheEpoch() {
+        long a = save(1L), b = save(2L), untouched = save(3L);
+        Instant issued = Instant.now();
+
+        long nb = epochs.revokeAll(List.of(a, b));
+
+        assertThat(epochs.isRevoked(a, issued)).isTrue();
+        assertThat(epochs.isRevoked(b, issued)).isTrue();
+        assertThat(epochs.isRevoked(untouched, issued)).isFalse();
+        assertThat(epochs.isRevoked(a, Instant.ofEpochSecond(nb))).isFalse();   // 폐기 이후 재로그인
+        assertThat(jdbc.queryForObject("SELECT count(*) FROM users WHERE tokens_not_before = ?", Long.class, nb))
+                .isEqualTo(2);
+    }
+
+    @Test
+    void reLoginRightAfterRevocationIsNotRejected() {
+        long id = save(6L);
+        TokenService tokens = new TokenService("token-epochs-test-secret-0123456789abcdef", 60_000, 120_000, "test",
+                false, 0, true, false, null, epochs, new SimpleMeterRegistry());
+
+        epochs.revokeAll(List.of(id));   // not-before = 지금 + 1초
+        String access = tokens.createAccessToken(id);
+        String refresh = tokens.createRefreshToken(id, UUID.randomUUID().toString());
+
+        assertThat(epochs.isRevoked(id, tokens.verify(access).getIssuedAtAsInstant())).isFalse();
+        assertThat(epochs.isRevoked(id, tokens.verify(refresh).getIssuedAtAsInstant())).isFalse();
+    }
+
+    @Test
+    void pollPicksUpEpochsWrittenByOtherReplicas() {
+        long id = save(4L);
+        long nb = System.currentTimeMillis() / 1000 + 1;
+        jdbc.update("UPDATE users SET tokens_not_before = ? WHERE id = ?", nb, id);
+        assertThat(epochs.notBefore(id)).isZero();
+
+        epochs.poll();
+
+        assertThat(epochs.notBefore(id)).isEqualTo(nb);
+        assertThat(epochs.changedSince(0)).extracting("userId").contains(id);
+    }
+
+    @Test
+    void epochOnlyMovesForward() {
+        long id = save(5L);
+        long nb = epochs.revokeAll(List.of(id));
+        jdbc.update("UPDATE users SET tokens_not_before = ? WHERE id = ?", nb - 10, id);
+
+        epochs.poll();
+
+        assertThat(epochs.notBefore(id)).isEqualTo(nb);
+    }
+
+    private long save(long kakaoId) {
+        return users.save(User.builder()
+                .kakaoId(kakaoId)
+                .userId("U" + String.format("%016d", kakaoId))
+                .nickname("u" + kakaoId)
+                .createdAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build()).getId();
+    }
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.financedoc.user_service.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.financedoc.user_service.auth.dto.response.UserImportResponse;
+import com.financedoc.user_service.auth.entity.User;
+import com.financedoc.user_service.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 이관: 제약 위반 행은 그 행만 건너뛰고, 깨진 JSON 줄에서는 앞까지 커밋하고 이어서 보낼 줄을 알려준다 */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)   // 배치마다 자체 트랜잭션으로 커밋된다
+class UserImportServiceTest {
+
+    @Autowired
+    private UserRepository users;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @AfterEach
+    void cleanUp() {
+        users.deleteAll();
+    }
+
+    @Test
+    void conflictingRowIsSkippedAndRestOfBatchIsImported() throws Exception {
+        users.save(User.builder().kakaoId(100L).userId("U-existing")
+                .createdAt(Instant.now()).updatedAt(Instant.now()).build());
+
+        UserImportResponse result = importService().importNdjson(ndjson("""
+                {"userId":"U-a","kakaoId":1,"nickname":"a"}
+                {"userId":"U-b","kakaoId":100,"nickname":"dup"}
+                {"userId":"U-c","kakaoId":2,"nickname":"c"}
+                """));
+
+        assertThat(result.getRows()).isEqualTo(3);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        assertThat(result.getSkippedLines()).containsExactly(2L);
+        assertThat(result.getResumeFromLine()).isNull();
+        assertThat(users.findByUserId("U-a")).isPresent();
+        assertThat(users.findByUserId("U-b")).isEmpty();
+        assertThat(users.findByUserId("U-c")).isPresent();
+    }
+
+    @Test
+    void malformedLineCommitsRowsBeforeItAndReportsResumeLine() throws Exception {
+        UserImportResponse result = importService().importNdjson(ndjson("""
+                {"userId":"U-a","kakaoId":1}
+                {"userId":"U-b","kakaoId":2}
+                not json
+                {"userId":"U-d","kakaoId":4}
+                """));
+
+        assertThat(result.getRows()).isEqualTo(2);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getResumeFromLine()).isEqualTo(3L);
+        assertThat(users.findByUserId("U-b")).isPresent();
+        assertThat(users.findByUserId("U-d")).isEmpty();
+    }
+
+    private UserImportService importService() {
+        return new UserImportService(users, em, new TransactionTemplate(txManager),
+                new ObjectMapper().findAndRegisterModules(),
+                new UserProfileCache(true, 60, 100, new SimpleMeterRegistry()));
+    }
+
+    private static ByteArrayInputStream ndjson(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,101 @@
+package com.financedoc.user_service.auth.timing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** 구간 기록이 Server-Timing 헤더로 나가는지, 요청 밖 기록은 무시되는지 확인 */
+class RequestTimingFilterTest {
+
+    private final RequestTimingFilter filter = new RequestTimingFilter(true, true, false, 0);
+
+    @Test
+    void spansRecordedBeforeBodyAreInHeader() throws Exception {
+        MockHttpServletResponse response = run(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                RequestTiming.current().add("jwt_sign", 1_500_000);
+                RequestTiming.current().add("jwt_sign", 500_000);
+                RequestTiming.current().add("kakao_user_info", 120_300_000);
+                resp.getWriter().write("{}");
+            }
+        });
+
+        assertThat(response.getHeader("Server-Timing"))
+                .startsWith("jwt_sign;dur=2.0, kakao_user_info;dur=120.3, total;dur=");
+    }
+
+    @Test
+    void redirectWithoutBodyStillGetsHeader() throws Exception {
+        MockHttpServletResponse response = run(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                RequestTiming.current().add("upsert", 3_000_000);
+                resp.sendRedirect("/");
+            }
+        });
+
+        assertThat(response.getHeader("Server-Timing")).startsWith("upsert;dur=3.0, total;dur=");
+    }
+
+    @Test
+    void recordingOutsideRequestIsIgnored() throws Exception {
+        run(new HttpServlet() { });
+
+        assertThat(RequestTiming.current()).isNull();
+        RequestTiming.record("jwt_verify", System.nanoTime()); // no-op
+    }
+
+    @Test
+    void handlerSpanComesFromInterceptor() throws Exception {
+        HandlerTimingInterceptor interceptor = new HandlerTimingInterceptor();
+        MockHttpServletResponse response = run(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                interceptor.preHandle(req, resp, this);
+                RequestTiming.current().add("db_profile", 1_000_000);
+                interceptor.afterCompletion(req, resp, this, null);
+                resp.getWriter().write("{}");
+            }
+        });
+
+        assertThat(response.getHeader("Server-Timing")).startsWith("db_profile;dur=1.0, handler;dur=");
+    }
+
+    @Test
+    void recorderReusedByNextRequestStartsEmpty() throws Exception {
+        RequestTiming[] seen = new RequestTiming[2];
+        run(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                seen[0] = RequestTiming.current();
+                seen[0].add("jwt_sign", 1_000_000);
+            }
+        });
+        MockHttpServletResponse second = run(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                seen[1] = RequestTiming.current();
+            }
+        });
+
+        assertThat(seen[1]).isSameAs(seen[0]);
+        assertThat(second.getHeader("Server-Timing")).startsWith("total;dur=");
+    }
+
+    private MockHttpServletResponse run(HttpServlet servlet) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/user/auth/kakao");
+        request.setContextPath("/user");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}